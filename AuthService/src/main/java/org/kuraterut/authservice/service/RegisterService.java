@@ -55,7 +55,8 @@ public class RegisterService implements RegisterUseCase {
         user = userRepository.save(user);
 
         if(registerRequest.getRole() != Role.ADMIN) {
-            userRegistrationEventKafkaTemplate.send(userRegistrationTopic, new UserRegistrationEvent(user.getId())).get();
+            userRegistrationEventKafkaTemplate.send(userRegistrationTopic, String.valueOf(user.getId()),
+                    new UserRegistrationEvent(user.getId())).get();
         }
 
         UserDetailsImpl userDetails = new UserDetailsImpl(user.getEmail(), user.getPassword(), user.getId(), List.of(user.getRole()));
@@ -20,7 +20,7 @@ public class TestConfig {
     @Primary
     public KafkaTemplate<String, UserRegistrationEvent> kafkaTemplate() {
         KafkaTemplate<String, UserRegistrationEvent> template = mock(KafkaTemplate.class);
-        when(template.send(anyString(), any(UserRegistrationEvent.class)))
+        when(template.send(anyString(), anyString(), any(UserRegistrationEvent.class)))
                 .thenReturn(CompletableFuture.completedFuture(null));
         return template;
     }
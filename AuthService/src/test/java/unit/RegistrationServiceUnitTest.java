@@ -71,7 +71,7 @@ public class RegistrationServiceUnitTest {
         when(userRepository.save(any())).thenReturn(user);
         when(jwtGeneratorService.generateToken(any())).thenReturn("jwt-token");
 
-        when(kafkaTemplate.send(anyString(), any(UserRegistrationEvent.class)))
+        when(kafkaTemplate.send(anyString(), eq("1"), any(UserRegistrationEvent.class)))
                 .thenReturn(CompletableFuture.completedFuture(null));
 
 
@@ -79,7 +79,7 @@ public class RegistrationServiceUnitTest {
         RegisterResponse response = registerService.register(request);
 
         assertThat(response.getToken()).isEqualTo("jwt-token");
-        verify(kafkaTemplate).send(anyString(), any(UserRegistrationEvent.class));
+        verify(kafkaTemplate).send(anyString(), eq("1"), any(UserRegistrationEvent.class));
     }
 
     @Test
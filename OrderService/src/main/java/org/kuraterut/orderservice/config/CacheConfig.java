@@ -3,22 +3,35 @@ package org.kuraterut.orderservice.config;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kuraterut.orderservice.dto.response.OrderListResponse;
+import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.service.OrderCacheIndex;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Configuration
 @EnableCaching
@@ -30,6 +43,14 @@ public class CacheConfig {
     @Value("${spring.data.redis.port}")
     private int port;
 
+    @Value("${cache.near.max-weight}")
+    private long nearCacheMaxWeight;
+
+    @Value("${cache.near.ttl}")
+    private Duration nearCacheTtl;
+
+    private final Map<String, TwoLevelCache> nearCaches = new ConcurrentHashMap<>();
+
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
@@ -60,13 +81,55 @@ public class CacheConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfiguration())
-                .transactionAware()
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, OrderCacheIndex orderCacheIndex,
+                                     StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        RedisCacheManager cacheManager = new RedisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory), cacheConfiguration()) {
+            @Override
+            protected Cache decorateCache(Cache cache) {
+                TwoLevelCache nearCache = new TwoLevelCache(localCache(), new IndexedCache(cache, orderCacheIndex),
+                        stringRedisTemplate, meterRegistry);
+                nearCaches.put(cache.getName(), nearCache);
+                return super.decorateCache(nearCache);
+            }
+        };
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+            TwoLevelCache nearCache = nearCaches.get(channel.substring(TwoLevelCache.INVALIDATION_CHANNEL_PREFIX.length()));
+            if (nearCache != null) {
+                nearCache.invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+            }
+        }, new PatternTopic(TwoLevelCache.INVALIDATION_CHANNEL_PREFIX + "*"));
+        return container;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(nearCacheMaxWeight)
+                .weigher((key, value) -> weigh(value))
+                .expireAfterWrite(nearCacheTtl)
                 .build();
     }
 
+    private static int weigh(Object value) {
+        if (value instanceof OrderListResponse list && list.getOrders() != null) {
+            return 1 + list.getOrders().stream().mapToInt(CacheConfig::weigh).sum();
+        }
+        if (value instanceof OrderResponse order) {
+            return 1 + (order.getItems() != null ? order.getItems().size() : 0)
+                    + (order.getDetails() != null ? order.getDetails().size() : 0);
+        }
+        return 1;
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
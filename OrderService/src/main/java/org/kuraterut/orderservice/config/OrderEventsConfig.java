@@ -0,0 +1,21 @@
+package org.kuraterut.orderservice.config;
+
+import org.kuraterut.orderservice.service.OrderEventsService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class OrderEventsConfig {
+
+    @Bean
+    public RedisMessageListenerContainer orderEventsListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                      OrderEventsService orderEventsService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(orderEventsService, new PatternTopic(OrderEventsService.CHANNEL_PREFIX + "*"));
+        return container;
+    }
+}
@@ -0,0 +1,38 @@
+package org.kuraterut.orderservice.config;
+
+import org.kuraterut.orderservice.service.OrderService;
+import org.kuraterut.orderservice.usecases.PaymentProcessUseCase;
+import org.kuraterut.orderservice.usecases.PaymentResultProcessUseCase;
+import org.kuraterut.outboxnotifylib.OutboxNotificationListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "outbox.notify.enabled", havingValue = "true")
+public class OutboxNotifyConfig {
+
+    @Value("${outbox.notify.poll-timeout-ms}")
+    private int pollTimeoutMs;
+
+    @Value("${outbox.notify.reconnect-delay-ms}")
+    private long reconnectDelayMs;
+
+    @Bean
+    public OutboxNotificationListener outboxNotificationListener(DataSource dataSource,
+                                                                 OrderService orderService,
+                                                                 PaymentProcessUseCase paymentProcessUseCase,
+                                                                 PaymentResultProcessUseCase paymentResultProcessUseCase) {
+        Map<String, OutboxNotificationListener.Handler> handlers = Map.of(
+                "orders_outbox", orderService::processCreateOrderEvent,
+                "payment_event_outbox", paymentProcessUseCase::processPaymentEvents,
+                "payment_result_inbox", paymentResultProcessUseCase::processPaymentResult,
+                "product_hold_remove_event_outbox", paymentResultProcessUseCase::processProductHoldRemoveEvent
+        );
+        return new OutboxNotificationListener(dataSource, handlers, pollTimeoutMs, reconnectDelayMs);
+    }
+}
@@ -0,0 +1,165 @@
+package org.kuraterut.orderservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.Callable;
+
+@Slf4j
+public class TwoLevelCache implements Cache {
+    public static final String INVALIDATION_CHANNEL_PREFIX = "cache-invalidation:";
+    public static final String CLEAR_ALL = "*";
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache, Cache remoteCache,
+                         StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = INVALIDATION_CHANNEL_PREFIX + remoteCache.getName();
+        this.localHits = requests(meterRegistry, "l1", "hit");
+        this.localMisses = requests(meterRegistry, "l1", "miss");
+        this.remoteHits = requests(meterRegistry, "l2", "hit");
+        this.remoteMisses = requests(meterRegistry, "l2", "miss");
+        meterRegistry.gauge("cache.near.size", Tags.of("cache", getName()),
+                localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.near.requests")
+                .tag("cache", remoteCache.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        localMisses.increment();
+        ValueWrapper remote = remoteCache.get(key);
+        if (remote == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        if (remote.get() != null) {
+            localCache.put(key, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remoteCache.get(key, valueLoader);
+        if (value != null) {
+            localCache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        if (value != null) {
+            localCache.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        localCache.invalidate(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+        publish(String.valueOf(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remoteCache.evictIfPresent(key);
+        localCache.invalidate(key);
+        publish(String.valueOf(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        publish(CLEAR_ALL);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remoteCache.invalidate();
+        localCache.invalidateAll();
+        publish(CLEAR_ALL);
+        return invalidated;
+    }
+
+    public void invalidateLocal(String key) {
+        if (CLEAR_ALL.equals(key)) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+
+    private void publish(String key) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish invalidation of {} on {}: {}", key, invalidationChannel, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package org.kuraterut.orderservice.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,21 +7,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import org.kuraterut.jwtsecuritylib.model.AuthPrincipal;
+import org.kuraterut.orderservice.dto.request.CreateOrderBatchRequest;
 import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.dto.response.OrderBatchResponse;
+import org.kuraterut.orderservice.dto.response.OrderCursorPageResponse;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.dto.response.OrderStatsResponse;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.IdempotencyService;
 import org.kuraterut.orderservice.usecases.CreateOrderUseCase;
 import org.kuraterut.orderservice.usecases.GetOrderUseCase;
+import org.kuraterut.orderservice.usecases.OrderEventsUseCase;
+import org.kuraterut.orderservice.usecases.OrderExportUseCase;
+import org.kuraterut.orderservice.usecases.OrderStatsUseCase;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
 @RestController
@@ -31,8 +47,14 @@ import java.time.OffsetDateTime;
 @SecurityRequirement(name = "Bearer Token")
 @Tag(name = "Order controller", description = "Controller for order manipulations")
 public class OrderController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final CreateOrderUseCase createOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
+    private final OrderEventsUseCase orderEventsUseCase;
+    private final OrderStatsUseCase orderStatsUseCase;
+    private final OrderExportUseCase orderExportUseCase;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('CUSTOMER')")
@@ -40,6 +62,8 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order created successfully, return order info"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Request with the same Idempotency-Key is still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request body"),
             @ApiResponse(responseCode = "403", description = "Access denied"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "500", description = "Server error")
@@ -47,8 +71,115 @@ public class OrderController {
     public OrderResponse createOrder(
             @Parameter(description = "Create order request")
             @RequestBody @Valid CreateOrderRequest request,
-            @AuthenticationPrincipal AuthPrincipal authPrincipal) throws JsonProcessingException {
-        return createOrderUseCase.createOrder(request, authPrincipal.getUserId());
+            @Parameter(description = "Client generated key, retries with the same key return the first response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthPrincipal authPrincipal) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createOrderUseCase.createOrder(request, authPrincipal.getUserId());
+        }
+        return idempotencyService.execute("orders:" + authPrincipal.getUserId() + ":" + idempotencyKey,
+                request, OrderResponse.class, () -> createOrderUseCase.createOrder(request, authPrincipal.getUserId()));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    @Operation(summary = "Creating orders batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders created successfully, return orders info"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public OrderBatchResponse createOrders(
+            @Parameter(description = "Create orders batch request")
+            @RequestBody @Valid CreateOrderBatchRequest request,
+            @AuthenticationPrincipal AuthPrincipal authPrincipal) {
+        return createOrderUseCase.createOrders(request, authPrincipal.getUserId());
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    @Operation(summary = "Streaming order status transitions (Server-Sent Events)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened, current status is sent first"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Order not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "Order ID") @PathVariable("id") Long id,
+            @AuthenticationPrincipal AuthPrincipal authPrincipal) {
+        return orderEventsUseCase.subscribe(id, authPrincipal.getUserId());
+    }
+
+    @GetMapping("/admin/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Getting order counts per status, total, per creation day and per user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics found successfully, return order counts"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public OrderStatsResponse getStats(
+            @Parameter(description = "Day of order creation (UTC), today by default")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @Parameter(description = "User ID") @RequestParam(required = false) Long userId) {
+        return orderStatsUseCase.getStats(day, userId);
+    }
+
+    @GetMapping(value = "/admin/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Exporting orders as NDJSON, oldest first (Streaming)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started, streams one order per line"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "Created at or after timestamp") @RequestParam(required = false) OffsetDateTime from,
+            @Parameter(description = "Created before timestamp") @RequestParam(required = false) OffsetDateTime to,
+            @Parameter(description = "Order Status") @RequestParam(required = false) OrderStatus status) {
+        StreamingResponseBody body = out -> orderExportUseCase.exportOrders(from, to, status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('CUSTOMER', 'ADMIN')")
+    @Operation(summary = "Searching orders by status, user and creating timestamp range (Pageable)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found successfully, return orders info"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public OrderListResponse searchOrders(
+            @AuthenticationPrincipal AuthPrincipal authPrincipal,
+            @Parameter(description = "Order Status") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "User ID, ignored for customers") @RequestParam(required = false) Long userId,
+            @Parameter(description = "Created at or after timestamp") @RequestParam(required = false) OffsetDateTime from,
+            @Parameter(description = "Created before timestamp") @RequestParam(required = false) OffsetDateTime to,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Page sorting attribute")
+            @RequestParam(defaultValue = "createdAt") @Pattern(regexp = "createdAt|id") String sortBy,
+            @Parameter(description = "Page sorting direction") @RequestParam(defaultValue = "desc") String direction) {
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
+        if (!sortBy.equals("id")) {
+            sort = sort.and(Sort.by(Sort.Direction.fromString(direction), "id"));
+        }
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Long searchUserId = authPrincipal.getRoles().contains("ADMIN") ? userId : authPrincipal.getUserId();
+        return getOrderUseCase.searchOrders(status, searchUserId, from, to, pageable);
     }
 
     @GetMapping("/admin/{id}")
@@ -86,6 +217,23 @@ public class OrderController {
         return getOrderUseCase.getAllOrders(pageable);
     }
 
+    @GetMapping("/admin/all/cursor")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Getting all orders, newest first (Cursor)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found successfully, return orders info and next cursor"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public OrderCursorPageResponse getAllOrdersByCursor(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10")
+            @Min(1) @Max(MAX_CURSOR_PAGE_SIZE) int size) {
+        return getOrderUseCase.getAllOrders(after, size);
+    }
+
     @GetMapping("/admin/user/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     @Operation(summary = "Getting all user orders (Pageable)")
@@ -106,6 +254,24 @@ public class OrderController {
         return getOrderUseCase.getAllOrdersByUserId(userId, pageable);
     }
 
+    @GetMapping("/admin/user/{id}/cursor")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Getting all user orders, newest first (Cursor)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders found successfully, return orders info and next cursor"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    public OrderCursorPageResponse getAllOrdersByUserIdAndCursor(
+            @Parameter(description = "User ID") @PathVariable("id") Long userId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10")
+            @Min(1) @Max(MAX_CURSOR_PAGE_SIZE) int size) {
+        return getOrderUseCase.getAllOrdersByUserId(userId, after, size);
+    }
+
     @GetMapping
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Getting all user orders (Pageable)")
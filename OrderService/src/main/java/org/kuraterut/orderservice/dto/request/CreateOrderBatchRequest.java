@@ -0,0 +1,24 @@
+package org.kuraterut.orderservice.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.media.Schema.RequiredMode.REQUIRED;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Create orders batch request")
+public class CreateOrderBatchRequest {
+    @NotEmpty(message = "Orders list cannot be empty")
+    @Size(max = 1000, message = "Orders list cannot contain more than 1000 orders")
+    @Schema(description = "Orders to create", requiredMode = REQUIRED)
+    private List<@Valid CreateOrderRequest> orders;
+}
@@ -0,0 +1,17 @@
+package org.kuraterut.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Response with created orders info")
+public class OrderBatchResponse {
+    @Schema(description = "Created orders, in the order of the request")
+    private List<OrderResponse> orders;
+}
@@ -0,0 +1,19 @@
+package org.kuraterut.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of orders with cursor of the next page")
+public class OrderCursorPageResponse {
+    @Schema(description = "Orders list, newest first")
+    private List<OrderResponse> orders;
+    @Schema(description = "Opaque cursor of the next page, null on the last page", example = "MTc0OTk5OTk5OTowOjQy")
+    private String nextCursor;
+}
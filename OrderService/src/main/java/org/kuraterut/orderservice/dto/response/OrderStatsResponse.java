@@ -0,0 +1,27 @@
+package org.kuraterut.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Order counts per status")
+public class OrderStatsResponse {
+    @Schema(description = "Counts of all orders")
+    private Map<OrderStatus, Long> total;
+    @Schema(description = "Day of order creation (UTC)", example = "2025-12-03")
+    private LocalDate day;
+    @Schema(description = "Counts of orders created on the day")
+    private Map<OrderStatus, Long> daily;
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+    @Schema(description = "Counts of the user orders, empty if user is not set")
+    private Map<OrderStatus, Long> user;
+}
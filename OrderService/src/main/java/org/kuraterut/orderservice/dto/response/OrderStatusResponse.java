@@ -0,0 +1,20 @@
+package org.kuraterut.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Order status transition")
+public class OrderStatusResponse {
+    @Schema(description = "Order ID", example = "1")
+    private Long orderId;
+    @Schema(description = "Order status", example = "COMPLETED")
+    private OrderStatus status;
+    @Schema(description = "Updating Timestamp", example = "2025-12-03T10:15:30+01:00")
+    private String updatedAt;
+}
@@ -3,7 +3,11 @@ package org.kuraterut.orderservice.exception;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.exception.model.IdempotencyConflictException;
+import org.kuraterut.orderservice.exception.model.IdempotencyKeyMismatchException;
+import org.kuraterut.orderservice.exception.model.InvalidCursorException;
 import org.kuraterut.orderservice.exception.model.OrderNotFoundException;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -35,6 +40,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> invalidCursorException(InvalidCursorException e) {
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage(e.getMessage());
+        error.setTimestamp(OffsetDateTime.now());
+        error.setStatus(HttpStatus.BAD_REQUEST);
+        log.warn("Invalid Cursor Error: {}", error);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> idempotencyConflictException(IdempotencyConflictException e) {
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage(e.getMessage());
+        error.setTimestamp(OffsetDateTime.now());
+        error.setStatus(HttpStatus.CONFLICT);
+        log.warn("Idempotency Conflict Error: {}", error);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> idempotencyKeyMismatchException(IdempotencyKeyMismatchException e) {
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage(e.getMessage());
+        error.setTimestamp(OffsetDateTime.now());
+        error.setStatus(HttpStatus.UNPROCESSABLE_ENTITY);
+        log.warn("Idempotency Key Mismatch Error: {}", error);
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult()
@@ -72,6 +107,17 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(errors, HttpStatus.BAD_REQUEST, OffsetDateTime.now()));
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleHandlerMethodValidation(HandlerMethodValidationException ex) {
+        List<String> errors = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+
+        log.warn("Request parameter validation error: {}", errors);
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(errors, HttpStatus.BAD_REQUEST, OffsetDateTime.now()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
         log.warn("Access denied: {}", ex.getMessage());
@@ -0,0 +1,7 @@
+package org.kuraterut.orderservice.exception.model;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
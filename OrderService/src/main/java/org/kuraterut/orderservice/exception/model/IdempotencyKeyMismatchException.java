@@ -0,0 +1,7 @@
+package org.kuraterut.orderservice.exception.model;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
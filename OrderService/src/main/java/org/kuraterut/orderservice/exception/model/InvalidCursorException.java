@@ -0,0 +1,7 @@
+package org.kuraterut.orderservice.exception.model;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,16 @@
 package org.kuraterut.orderservice.mapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.model.entity.ArchivedOrder;
 import org.kuraterut.orderservice.model.entity.Order;
 import org.kuraterut.orderservice.model.entity.OrderItem;
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.event.OrderCreatedEvent;
 import org.kuraterut.orderservice.model.event.outbox.CreateOrderEventOutbox;
-import org.kuraterut.orderservice.model.event.dto.ProductHoldItemFailed;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +29,12 @@ public class OrderMapper {
         return order;
     }
 
+    public OrderView toView(ArchivedOrder archivedOrder){
+        return new OrderView(archivedOrder.getId(), archivedOrder.getUserId(), archivedOrder.getStatus(),
+                archivedOrder.getCreatedAt(), archivedOrder.getUpdatedAt(), archivedOrder.getItems(),
+                archivedOrder.getDetails());
+    }
+
     public OrderItem toEntity(OrderItemDto dto, Order order){
         OrderItem orderItem = new OrderItem();
         orderItem.setQuantity(dto.getQuantity());
@@ -51,19 +57,6 @@ public class OrderMapper {
     }
 
     public OrderResponse toResponse(Order order) {
-        ObjectMapper mapper = new ObjectMapper();
-        List<ProductHoldItemFailed> details = new ArrayList<>();
-        if(order.getDetails() != null){
-            for(String detail : order.getDetails()){
-                try{
-                    ProductHoldItemFailed productHoldItemFailed = mapper.readValue(detail, ProductHoldItemFailed.class);
-                    details.add(productHoldItemFailed);
-                } catch (JsonProcessingException e) {
-                    throw new RuntimeException("Json Processing Exception", e);
-                }
-            }
-        }
-
         OrderResponse orderResponse = new OrderResponse();
         String createdAt = order.getCreatedAt()==null?null:order.getCreatedAt().toString();
         String updatedAt = order.getUpdatedAt()==null?null:order.getUpdatedAt().toString();
@@ -73,7 +66,19 @@ public class OrderMapper {
         orderResponse.setStatus(order.getStatus());
         orderResponse.setUserId(order.getUserId());
         orderResponse.setItems(toResponses(order.getItems()));
-        orderResponse.setDetails(details);
+        orderResponse.setDetails(order.getDetails() != null ? order.getDetails() : new ArrayList<>());
+        return orderResponse;
+    }
+
+    public OrderResponse toResponse(OrderView order) {
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setCreatedAt(order.getCreatedAt().toString());
+        orderResponse.setUpdatedAt(order.getUpdatedAt().toString());
+        orderResponse.setId(order.getId());
+        orderResponse.setStatus(order.getStatus());
+        orderResponse.setUserId(order.getUserId());
+        orderResponse.setItems(order.getItems());
+        orderResponse.setDetails(order.getDetails() != null ? order.getDetails() : new ArrayList<>());
         return orderResponse;
     }
 
@@ -82,14 +87,21 @@ public class OrderMapper {
 //        return orders.stream().map(this::toResponse).toList();
 //    }
 
-    public OrderListResponse toResponses(Page<Order> orders)  {
+    public OrderListResponse toResponses(Page<OrderView> orders)  {
         return new OrderListResponse(orders.map(this::toResponse).stream().toList());
     }
 
 
     public CreateOrderEventOutbox toOutbox(Order order){
+        OrderCreatedEvent payload = new OrderCreatedEvent();
+        payload.setOrderId(order.getId());
+        payload.setUserId(order.getUserId());
+        payload.setItems(toResponses(order.getItems()));
+        payload.setCreatedAt(System.currentTimeMillis());
+
         CreateOrderEventOutbox createOrderEventOutbox = new CreateOrderEventOutbox();
-        createOrderEventOutbox.setOrder(order);
+        createOrderEventOutbox.setOrderId(order.getId());
+        createOrderEventOutbox.setPayload(payload);
         createOrderEventOutbox.setProcessed(false);
         return createOrderEventOutbox;
     }
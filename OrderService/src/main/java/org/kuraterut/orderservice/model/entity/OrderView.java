@@ -0,0 +1,47 @@
+package org.kuraterut.orderservice.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
+import org.kuraterut.orderservice.model.event.dto.ProductHoldItemFailed;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Entity
+@Immutable
+@Table(name = "order_view")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderView {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "items", columnDefinition = "jsonb", nullable = false)
+    private List<OrderItemDto> items;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "details", columnDefinition = "jsonb")
+    private List<ProductHoldItemFailed> details;
+}
@@ -14,4 +14,5 @@ public class OrderCreatedEvent {
     private Long orderId;
     private Long userId;
     private List<OrderItemDto> items;
+    private Long createdAt;
 }
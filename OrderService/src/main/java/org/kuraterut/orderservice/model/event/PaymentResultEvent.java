@@ -11,4 +11,5 @@ import org.kuraterut.orderservice.model.utils.PaymentResult;
 public class PaymentResultEvent {
     private Long orderId;
     private PaymentResult result;
+    private Long createdAt;
 }
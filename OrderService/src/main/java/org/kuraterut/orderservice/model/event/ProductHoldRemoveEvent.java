@@ -11,4 +11,5 @@ import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
 public class ProductHoldRemoveEvent {
     private Long orderId;
     private ProductHoldRemoveEventDetails details;
+    private Long createdAt;
 }
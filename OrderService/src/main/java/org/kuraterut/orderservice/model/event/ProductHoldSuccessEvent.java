@@ -13,4 +13,5 @@ import java.util.List;
 public class ProductHoldSuccessEvent {
     private Long orderId;
     private List<ProductHoldItemSuccess> items;
+    private Long createdAt;
 }
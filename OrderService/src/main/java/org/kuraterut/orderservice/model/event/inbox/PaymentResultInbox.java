@@ -14,7 +14,7 @@ import org.kuraterut.orderservice.model.utils.PaymentResult;
 public class PaymentResultInbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_result_inbox_seq")
-    @SequenceGenerator(name = "payment_result_inbox_seq", sequenceName = "payment_result_inbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "payment_result_inbox_seq", sequenceName = "payment_result_inbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
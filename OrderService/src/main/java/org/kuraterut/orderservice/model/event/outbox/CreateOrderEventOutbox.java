@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.kuraterut.orderservice.model.entity.Order;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.kuraterut.orderservice.model.event.OrderCreatedEvent;
 
 @Data
 @NoArgsConstructor
@@ -14,12 +16,15 @@ import org.kuraterut.orderservice.model.entity.Order;
 public class CreateOrderEventOutbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "create_order_event_outbox_seq")
-    @SequenceGenerator(name = "create_order_event_outbox_seq", sequenceName = "create_order_event_outbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "create_order_event_outbox_seq", sequenceName = "create_order_event_outbox_seq", allocationSize = 50)
     private Long id;
 
-    @OneToOne
-    @JoinColumn(name = "order_id", nullable = false)
-    private Order order;
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    private OrderCreatedEvent payload;
 
     @Column(nullable = false)
     private boolean processed;
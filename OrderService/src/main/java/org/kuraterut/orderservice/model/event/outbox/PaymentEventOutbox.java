@@ -4,8 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "payment_event_outbox")
@@ -15,15 +17,21 @@ import java.math.BigDecimal;
 public class PaymentEventOutbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_event_outbox_seq")
-    @SequenceGenerator(name = "payment_event_outbox_seq", sequenceName = "payment_event_outbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "payment_event_outbox_seq", sequenceName = "payment_event_outbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
     @Column(name = "order_id", nullable = false)
     private Long orderId;
-    @Column(name = "amount", nullable = false)
+    @Column(name = "amount")
     private BigDecimal amount;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private PaymentEventType type;
     @Column(name = "processed", nullable = false)
     private boolean processed;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
 }
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @Table(name = "product_hold_remove_event_outbox")
 @Data
@@ -14,7 +16,7 @@ import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
 public class ProductHoldRemoveEventOutbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_hold_remove_event_outbox_seq")
-    @SequenceGenerator(name = "product_hold_remove_event_outbox_seq", sequenceName = "product_hold_remove_event_outbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "product_hold_remove_event_outbox_seq", sequenceName = "product_hold_remove_event_outbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -25,4 +27,7 @@ public class ProductHoldRemoveEventOutbox {
     private ProductHoldRemoveEventDetails details;
 
     private boolean processed;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
 }
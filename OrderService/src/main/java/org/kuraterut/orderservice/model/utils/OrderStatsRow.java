@@ -0,0 +1,7 @@
+package org.kuraterut.orderservice.model.utils;
+
+public interface OrderStatsRow {
+    String getBucket();
+    String getStatus();
+    Long getTotal();
+}
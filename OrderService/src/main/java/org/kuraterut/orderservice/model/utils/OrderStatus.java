@@ -8,6 +8,7 @@ public enum OrderStatus {
     PENDING_PAYMENT,
     PAYMENT_FAILED_NOT_FOUND,
     PAYMENT_FAILED_NOT_ENOUGH_MONEY,
+    PAYMENT_TIMEOUT,
     COMPLETED,
     CANCELLED
 }
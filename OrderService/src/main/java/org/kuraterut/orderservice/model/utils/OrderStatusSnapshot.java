@@ -0,0 +1,9 @@
+package org.kuraterut.orderservice.model.utils;
+
+import java.time.OffsetDateTime;
+
+public interface OrderStatusSnapshot {
+    Long getId();
+    OrderStatus getStatus();
+    OffsetDateTime getUpdatedAt();
+}
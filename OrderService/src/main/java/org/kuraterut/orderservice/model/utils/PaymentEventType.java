@@ -0,0 +1,6 @@
+package org.kuraterut.orderservice.model.utils;
+
+public enum PaymentEventType {
+    PAYMENT,
+    REFUND
+}
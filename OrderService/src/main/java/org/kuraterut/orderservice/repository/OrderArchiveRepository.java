@@ -0,0 +1,55 @@
+package org.kuraterut.orderservice.repository;
+
+import org.kuraterut.orderservice.model.entity.ArchivedOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Modifying
+    @Query(value = "WITH batch AS (" +
+            "    SELECT id FROM orders WHERE status IN (:statuses) AND updated_at < :before " +
+            "    LIMIT :limit FOR UPDATE SKIP LOCKED" +
+            "), items AS (" +
+            "    DELETE FROM order_items WHERE order_id IN (SELECT id FROM batch) " +
+            "    RETURNING order_id, product_id, quantity" +
+            "), projected AS (" +
+            "    DELETE FROM order_view WHERE id IN (SELECT id FROM batch)" +
+            "), moved AS (" +
+            "    DELETE FROM orders WHERE id IN (SELECT id FROM batch) " +
+            "    RETURNING id, user_id, status, created_at, updated_at, details" +
+            ") " +
+            "INSERT INTO orders_archive (id, user_id, status, created_at, updated_at, items, details) " +
+            "SELECT m.id, m.user_id, m.status, m.created_at, m.updated_at, COALESCE(i.items, CAST('[]' AS jsonb)), m.details " +
+            "FROM moved m LEFT JOIN (" +
+            "    SELECT order_id, jsonb_agg(jsonb_build_object('productId', product_id, 'quantity', quantity)) AS items " +
+            "    FROM items GROUP BY order_id" +
+            ") i ON i.order_id = m.id",
+            nativeQuery = true)
+    int archiveBatch(@Param("statuses") Collection<String> statuses, @Param("before") OffsetDateTime before,
+                     @Param("limit") int limit);
+
+    @Query("SELECT o FROM ArchivedOrder o ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findFirstPage(Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findPageBefore(@Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId " +
+            "AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findPageBeforeByUserId(@Param("userId") Long userId, @Param("createdAt") OffsetDateTime createdAt,
+                                               @Param("id") Long id, Limit limit);
+}
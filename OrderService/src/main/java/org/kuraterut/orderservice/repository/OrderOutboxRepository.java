@@ -7,13 +7,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderOutboxRepository extends JpaRepository<CreateOrderEventOutbox, Long> {
-    List<CreateOrderEventOutbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM orders_outbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<CreateOrderEventOutbox> findTop100UnprocessedForUpdate();
 
     @Modifying
-    @Query("UPDATE CreateOrderEventOutbox o SET o.processed = true WHERE o.id = :id")
-    void markAsProcessed(@Param("id") Long id);
+    @Query("UPDATE CreateOrderEventOutbox o SET o.processed = true WHERE o.id IN :ids")
+    int markAllAsProcessed(@Param("ids") Collection<Long> ids);
 }
@@ -1,19 +1,48 @@
 package org.kuraterut.orderservice.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.kuraterut.orderservice.model.entity.Order;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.kuraterut.orderservice.model.utils.OrderStatsRow;
+import org.kuraterut.orderservice.model.utils.OrderStatusSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    Page<Order> findAllByUserId(Long userId, Pageable pageable);
-    Page<Order> findAllByStatus(OrderStatus orderStatus, Pageable pageable);
-    Page<Order> findAllByStatusAndUserId(OrderStatus orderStatus, Long userId, Pageable pageable);
-    Page<Order> findAllByCreatedAtAfter(OffsetDateTime createdAt, Pageable pageable);
-    Page<Order> findAllByCreatedAtAfterAndUserId(OffsetDateTime createdAt, Long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.id AS id, o.status AS status, o.updatedAt AS updatedAt FROM Order o WHERE o.status IN :statuses")
+    Stream<OrderStatusSnapshot> streamByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query(value = "SELECT 'all' AS bucket, status AS status, count(*) AS total " +
+            "FROM (SELECT status FROM orders UNION ALL SELECT status FROM orders_archive) o GROUP BY status",
+            nativeQuery = true)
+    List<OrderStatsRow> countByStatus();
+
+    @Query(value = "SELECT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM-DD') AS bucket, status AS status, " +
+            "count(*) AS total FROM (SELECT status, created_at FROM orders " +
+            "UNION ALL SELECT status, created_at FROM orders_archive) o GROUP BY 1, 2", nativeQuery = true)
+    List<OrderStatsRow> countByDayAndStatus();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT CAST(user_id AS VARCHAR) AS bucket, status AS status, count(*) AS total " +
+            "FROM (SELECT user_id, status FROM orders UNION ALL SELECT user_id, status FROM orders_archive) o " +
+            "GROUP BY user_id, status", nativeQuery = true)
+    Stream<OrderStatsRow> streamCountByUserAndStatus();
 }
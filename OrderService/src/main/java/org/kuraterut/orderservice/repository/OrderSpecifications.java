@@ -0,0 +1,34 @@
+package org.kuraterut.orderservice.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+    private OrderSpecifications() {
+    }
+
+    public static Specification<OrderView> search(OrderStatus status, Long userId, OffsetDateTime from, OffsetDateTime to) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userId != null) {
+                predicates.add(criteriaBuilder.equal(root.get("userId"), userId));
+            }
+            if (status != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), status));
+            }
+            if (from != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), from));
+            }
+            if (to != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("createdAt"), to));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package org.kuraterut.orderservice.repository;
+
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderViewRepository extends JpaRepository<OrderView, Long>, JpaSpecificationExecutor<OrderView> {
+    Page<OrderView> findAllByUserId(Long userId, Pageable pageable);
+    Page<OrderView> findAllByStatus(OrderStatus orderStatus, Pageable pageable);
+    Page<OrderView> findAllByStatusAndUserId(OrderStatus orderStatus, Long userId, Pageable pageable);
+    Page<OrderView> findAllByCreatedAtAfter(OffsetDateTime createdAt, Pageable pageable);
+    Page<OrderView> findAllByCreatedAtAfterAndUserId(OffsetDateTime createdAt, Long userId, Pageable pageable);
+
+    @Query("SELECT o FROM OrderView o ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderView> findFirstPage(Limit limit);
+
+    @Query("SELECT o FROM OrderView o WHERE (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderView> findPageBefore(@Param("createdAt") OffsetDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o FROM OrderView o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderView> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT o FROM OrderView o WHERE o.userId = :userId " +
+            "AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderView> findPageBeforeByUserId(@Param("userId") Long userId, @Param("createdAt") OffsetDateTime createdAt,
+                                          @Param("id") Long id, Limit limit);
+}
@@ -2,11 +2,21 @@ package org.kuraterut.orderservice.repository;
 
 import org.kuraterut.orderservice.model.event.outbox.PaymentEventOutbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PaymentEventOutboxRepository extends JpaRepository<PaymentEventOutbox, Long> {
-    List<PaymentEventOutbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM payment_event_outbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PaymentEventOutbox> findTop100UnprocessedForUpdate();
+
+    @Modifying
+    @Query("UPDATE PaymentEventOutbox o SET o.processed = true WHERE o.id IN :ids")
+    int markAllAsProcessed(@Param("ids") Collection<Long> ids);
 }
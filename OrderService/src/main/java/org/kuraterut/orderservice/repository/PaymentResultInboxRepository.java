@@ -2,11 +2,14 @@ package org.kuraterut.orderservice.repository;
 
 import org.kuraterut.orderservice.model.event.inbox.PaymentResultInbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PaymentResultInboxRepository extends JpaRepository<PaymentResultInbox, Long> {
-    List<PaymentResultInbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM payment_result_inbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PaymentResultInbox> findTop100UnprocessedForUpdate();
 }
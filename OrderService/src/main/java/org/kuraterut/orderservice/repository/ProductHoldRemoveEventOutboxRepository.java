@@ -2,11 +2,21 @@ package org.kuraterut.orderservice.repository;
 
 import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductHoldRemoveEventOutboxRepository extends JpaRepository<ProductHoldRemoveEventOutbox, Long> {
-    List<ProductHoldRemoveEventOutbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM product_hold_remove_event_outbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ProductHoldRemoveEventOutbox> findTop100UnprocessedForUpdate();
+
+    @Modifying
+    @Query("UPDATE ProductHoldRemoveEventOutbox o SET o.processed = true WHERE o.id IN :ids")
+    int markAllAsProcessed(@Param("ids") Collection<Long> ids);
 }
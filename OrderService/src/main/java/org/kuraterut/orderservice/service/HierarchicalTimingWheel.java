@@ -0,0 +1,127 @@
+package org.kuraterut.orderservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class HierarchicalTimingWheel<K> {
+
+    private record Entry(long deadlineTick, int level, int slot) {
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final long[] levelUnits;
+    private final Set<K>[][] buckets;
+    private final Map<K, Entry> entries = new HashMap<>();
+    private final List<K> overdue = new ArrayList<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.levelUnits = new long[levels];
+        this.buckets = new Set[levels][wheelSize];
+        long unit = 1;
+        for (int level = 0; level < levels; level++) {
+            levelUnits[level] = unit;
+            unit *= wheelSize;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new LinkedHashSet<>();
+            }
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    public synchronized void schedule(K key, long deadlineMs) {
+        cancel(key);
+        place(key, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+    }
+
+    public synchronized void cancel(K key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.level() < 0) {
+            overdue.remove(key);
+        } else {
+            buckets[entry.level()][entry.slot()].remove(key);
+        }
+    }
+
+    public synchronized List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        drainOverdue(expired);
+
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if (currentTick % levelUnits[level] == 0) {
+                    cascade(level, (int) ((currentTick / levelUnits[level]) % wheelSize));
+                }
+            }
+            Set<K> bucket = buckets[0][(int) (currentTick % wheelSize)];
+            for (K key : bucket) {
+                entries.remove(key);
+                expired.add(key);
+            }
+            bucket.clear();
+            drainOverdue(expired);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void drainOverdue(List<K> expired) {
+        for (K key : overdue) {
+            entries.remove(key);
+            expired.add(key);
+        }
+        overdue.clear();
+    }
+
+    private void cascade(int level, int slot) {
+        Set<K> bucket = buckets[level][slot];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+        for (K key : keys) {
+            place(key, entries.remove(key).deadlineTick());
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        if (deadlineTick <= currentTick) {
+            entries.put(key, new Entry(deadlineTick, -1, -1));
+            overdue.add(key);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            long unit = levelUnits[level];
+            if (deadlineTick / unit - currentTick / unit < wheelSize) {
+                int slot = (int) ((deadlineTick / unit) % wheelSize);
+                buckets[level][slot].add(key);
+                entries.put(key, new Entry(deadlineTick, level, slot));
+                return;
+            }
+        }
+        // beyond the top wheel: park in the last top slot and re-place when it cascades
+        int top = levels - 1;
+        int slot = (int) ((currentTick / levelUnits[top] + wheelSize - 1) % wheelSize);
+        buckets[top][slot].add(key);
+        entries.put(key, new Entry(deadlineTick, top, slot));
+    }
+}
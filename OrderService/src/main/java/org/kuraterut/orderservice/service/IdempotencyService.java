@@ -0,0 +1,190 @@
+package org.kuraterut.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.exception.model.IdempotencyConflictException;
+import org.kuraterut.orderservice.exception.model.IdempotencyKeyMismatchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyService {
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl}")
+    private Duration ttl;
+
+    @Value("${idempotency.lock-ttl}")
+    private Duration lockTtl;
+
+    @Value("${idempotency.wait-timeout}")
+    private Duration waitTimeout;
+
+    @Value("${idempotency.poll-interval}")
+    private Duration pollInterval;
+
+    public <T> T execute(String key, Object request, Class<T> type, Supplier<T> action) {
+        String redisKey = KEY_PREFIX + key;
+        String requestHash = hash(request);
+        T stored = readStored(redisKey, requestHash, type);
+        if (stored != null) {
+            return stored;
+        }
+
+        InFlight own = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(redisKey, own);
+        if (existing != null) {
+            checkSameRequest(redisKey, existing.requestHash(), requestHash);
+            return type.cast(await(existing.result()));
+        }
+        try {
+            T result = executeOnce(redisKey, requestHash, type, action);
+            own.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(redisKey, own);
+        }
+    }
+
+    private <T> T executeOnce(String redisKey, String requestHash, Class<T> type, Supplier<T> action) {
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, IN_PROGRESS, lockTtl);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, executing {} without dedupe: {}", redisKey, e.getMessage());
+            return action.get();
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            return awaitStored(redisKey, requestHash, type, action);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            redisTemplate.delete(redisKey);
+            throw e;
+        }
+        try {
+            StoredResponse stored = new StoredResponse(requestHash, objectMapper.valueToTree(result));
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(stored), ttl);
+        } catch (JsonProcessingException | IllegalArgumentException | DataAccessException e) {
+            log.warn("Failed to store idempotent response of {}: {}", redisKey, e.getMessage());
+        }
+        return result;
+    }
+
+    private <T> T awaitStored(String redisKey, String requestHash, Class<T> type, Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value == null) {
+                return executeOnce(redisKey, requestHash, type, action);
+            }
+            if (!IN_PROGRESS.equals(value)) {
+                return deserialize(redisKey, value, requestHash, type);
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IdempotencyConflictException("Request with the same Idempotency-Key is still in progress");
+    }
+
+    private <T> T readStored(String redisKey, String requestHash, Class<T> type) {
+        try {
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value == null || IN_PROGRESS.equals(value)) {
+                return null;
+            }
+            return deserialize(redisKey, value, requestHash, type);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read idempotent response of {}: {}", redisKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T deserialize(String redisKey, String value, String requestHash, Class<T> type) {
+        StoredResponse stored;
+        try {
+            stored = objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted idempotent response of " + redisKey, e);
+        }
+        checkSameRequest(redisKey, stored.requestHash(), requestHash);
+        try {
+            return objectMapper.treeToValue(stored.response(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted idempotent response of " + redisKey, e);
+        }
+    }
+
+    private void checkSameRequest(String redisKey, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            log.warn("Idempotency key {} reused with a different request body", redisKey);
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash idempotent request", e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("Request with the same Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Request with the same Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> result) {
+    }
+
+    private record StoredResponse(String requestHash, JsonNode response) {
+    }
+}
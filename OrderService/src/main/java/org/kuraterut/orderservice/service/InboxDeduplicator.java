@@ -0,0 +1,24 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class InboxDeduplicator {
+    public static final String PAYMENT_RESULT = "PAYMENT_RESULT";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean markHandled(Long orderId, String eventType) {
+        return jdbcTemplate.update(
+                "INSERT INTO inbox_dedupe (order_id, event_type) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                orderId, eventType) == 1;
+    }
+
+    public int purgeOlderThan(int retentionDays) {
+        return jdbcTemplate.update("DELETE FROM inbox_dedupe WHERE created_at < now() - make_interval(days => ?)",
+                retentionDays);
+    }
+}
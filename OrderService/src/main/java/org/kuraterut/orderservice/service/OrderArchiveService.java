@@ -0,0 +1,59 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderArchiveRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+    public static final List<String> TERMINAL_STATUSES = List.of(
+            OrderStatus.COMPLETED.name(),
+            OrderStatus.CANCELLED.name(),
+            OrderStatus.PRODUCT_RESERVATION_FAILED.name(),
+            OrderStatus.PAYMENT_FAILED_NOT_FOUND.name(),
+            OrderStatus.PAYMENT_FAILED_NOT_ENOUGH_MONEY.name(),
+            OrderStatus.PAYMENT_TIMEOUT.name()
+    );
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.archive.enabled}")
+    private boolean enabled;
+
+    @Value("${orders.archive.min-age}")
+    private Duration minAge;
+
+    @Value("${orders.archive.batch-size}")
+    private int batchSize;
+
+    @Scheduled(cron = "${orders.archive.cron}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime before = OffsetDateTime.now().minus(minAge);
+        int total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status ->
+                    orderArchiveRepository.archiveBatch(TERMINAL_STATUSES, before, batchSize));
+            moved = batch != null ? batch : 0;
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} orders finished before {}", total, before);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class OrderCacheIndex {
+    public static final String CACHE_NAME = "orders";
+    public static final String ORDER_BY_ID_PREFIX = "order_by_id_";
+
+    private static final String INDEX_PREFIX = "orders:index:";
+    private static final String GLOBAL_INDEX = INDEX_PREFIX + "global";
+    private static final Pattern USER_KEY = Pattern.compile("_user_(\\d+)_");
+    private static final Pattern STATUS_KEY = Pattern.compile("^orders_(?:search_)?status_([A-Z_]+)_(?:page|user)_");
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void register(Object key) {
+        String cacheKey = String.valueOf(key);
+        if (cacheKey.startsWith(ORDER_BY_ID_PREFIX)) {
+            return;
+        }
+        redisTemplate.opsForSet().add(indexOf(cacheKey), cacheKey);
+    }
+
+    public Set<String> drain(Long userId, OrderStatus... statuses) {
+        List<String> indexes = new ArrayList<>();
+        indexes.add(GLOBAL_INDEX);
+        if (userId != null) {
+            indexes.add(userIndex(userId));
+        }
+        for (OrderStatus status : statuses) {
+            if (status != null) {
+                indexes.add(statusIndex(status.name()));
+            }
+        }
+        Set<String> keys = new HashSet<>();
+        for (String index : indexes) {
+            Set<String> members = redisTemplate.opsForSet().members(index);
+            if (members != null && !members.isEmpty()) {
+                redisTemplate.opsForSet().remove(index, members.toArray());
+                keys.addAll(members);
+            }
+        }
+        return keys;
+    }
+
+    private String indexOf(String cacheKey) {
+        Matcher user = USER_KEY.matcher(cacheKey);
+        if (user.find()) {
+            return userIndex(Long.parseLong(user.group(1)));
+        }
+        Matcher status = STATUS_KEY.matcher(cacheKey);
+        if (status.find()) {
+            return statusIndex(status.group(1));
+        }
+        return GLOBAL_INDEX;
+    }
+
+    private String userIndex(Long userId) {
+        return INDEX_PREFIX + "user:" + userId;
+    }
+
+    private String statusIndex(String status) {
+        return INDEX_PREFIX + "status:" + status;
+    }
+}
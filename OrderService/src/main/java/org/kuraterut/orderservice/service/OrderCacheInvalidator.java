@@ -0,0 +1,49 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCacheInvalidator {
+    private final CacheManager cacheManager;
+    private final OrderCacheIndex orderCacheIndex;
+
+    public void evictOrder(Long orderId, Long userId, OrderStatus... statuses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(orderId, userId, statuses);
+                }
+            });
+        } else {
+            evictNow(orderId, userId, statuses);
+        }
+    }
+
+    private void evictNow(Long orderId, Long userId, OrderStatus... statuses) {
+        Cache cache = cacheManager.getCache(OrderCacheIndex.CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            if (orderId != null) {
+                cache.evictIfPresent(OrderCacheIndex.ORDER_BY_ID_PREFIX + orderId);
+            }
+            Set<String> keys = orderCacheIndex.drain(userId, statuses);
+            keys.forEach(cache::evictIfPresent);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict cached pages of order {}: {}", orderId, e.getMessage());
+        }
+    }
+}
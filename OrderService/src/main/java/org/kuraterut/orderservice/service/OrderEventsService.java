@@ -0,0 +1,136 @@
+package org.kuraterut.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.dto.response.OrderStatusResponse;
+import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderViewRepository;
+import org.kuraterut.orderservice.usecases.GetOrderUseCase;
+import org.kuraterut.orderservice.usecases.OrderEventsUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderEventsService implements OrderEventsUseCase, MessageListener {
+    public static final String CHANNEL_PREFIX = "order-status:";
+
+    public static final Set<OrderStatus> FINAL_STATUSES = Set.of(
+            OrderStatus.COMPLETED,
+            OrderStatus.PRODUCT_RESERVATION_FAILED,
+            OrderStatus.PAYMENT_FAILED_NOT_FOUND,
+            OrderStatus.PAYMENT_FAILED_NOT_ENOUGH_MONEY,
+            OrderStatus.PAYMENT_TIMEOUT,
+            OrderStatus.CANCELLED
+    );
+
+    private final GetOrderUseCase getOrderUseCase;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderMapper orderMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Value("${order-events.sse-timeout-ms}")
+    private long sseTimeoutMs;
+
+    @Override
+    public SseEmitter subscribe(Long orderId, Long userId) {
+        OrderResponse order = getOrderUseCase.getOrderById(orderId);
+        if (!order.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Order " + orderId + " belongs to another user");
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        if (!FINAL_STATUSES.contains(order.getStatus())) {
+            emitters.computeIfAbsent(orderId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+            emitter.onCompletion(() -> remove(orderId, emitter));
+            emitter.onTimeout(() -> remove(orderId, emitter));
+            emitter.onError(e -> remove(orderId, emitter));
+            // re-read after registering so a transition published in between is not lost;
+            // the cached response may predate it, so this goes to the view directly
+            order = orderViewRepository.findById(orderId).map(orderMapper::toResponse).orElse(order);
+        }
+        send(orderId, emitter, new OrderStatusResponse(orderId, order.getStatus(), order.getUpdatedAt()));
+        if (FINAL_STATUSES.contains(order.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publishStatusChange(Order order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(order);
+                }
+            });
+        } else {
+            publishNow(order);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            OrderStatusResponse event = objectMapper.readValue(message.getBody(), OrderStatusResponse.class);
+            Set<SseEmitter> orderEmitters = emitters.get(event.getOrderId());
+            if (orderEmitters == null) {
+                return;
+            }
+            for (SseEmitter emitter : orderEmitters) {
+                send(event.getOrderId(), emitter, event);
+                if (FINAL_STATUSES.contains(event.getStatus())) {
+                    emitter.complete();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Skipping malformed order status message: {}", e.getMessage());
+        }
+    }
+
+    private void publishNow(Order order) {
+        OrderStatusResponse event = new OrderStatusResponse(order.getId(), order.getStatus(),
+                order.getUpdatedAt() == null ? null : order.getUpdatedAt().toString());
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + event.getOrderId(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to publish status {} of order {}: {}", event.getStatus(), event.getOrderId(), e.getMessage());
+        }
+    }
+
+    private void send(Long orderId, SseEmitter emitter, OrderStatusResponse event) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(event));
+        } catch (IOException | IllegalStateException e) {
+            remove(orderId, emitter);
+        }
+    }
+
+    private void remove(Long orderId, SseEmitter emitter) {
+        emitters.computeIfPresent(orderId, (id, orderEmitters) -> {
+            orderEmitters.remove(emitter);
+            return orderEmitters.isEmpty() ? null : orderEmitters;
+        });
+    }
+}
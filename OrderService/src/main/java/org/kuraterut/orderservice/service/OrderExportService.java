@@ -0,0 +1,114 @@
+package org.kuraterut.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.usecases.OrderExportUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService implements OrderExportUseCase {
+    private static final String HOT_ORDERS = "SELECT o.id, o.user_id, o.status, o.created_at, o.updated_at, " +
+            "o.items, o.details FROM order_view o";
+    private static final String ARCHIVED_ORDERS = "SELECT o.id, o.user_id, o.status, o.created_at, o.updated_at, " +
+            "o.items, o.details FROM orders_archive o";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.export.fetch-size}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(OffsetDateTime from, OffsetDateTime to, OrderStatus status, OutputStream out) throws IOException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            conditions.add("o.created_at >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            conditions.add("o.created_at < ?");
+            args.add(to);
+        }
+        if (status != null) {
+            conditions.add("o.status = ?");
+            args.add(status.name());
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        String sql = "SELECT * FROM (" + HOT_ORDERS + where + " UNION ALL " + ARCHIVED_ORDERS + where + ") e " +
+                "ORDER BY created_at, id";
+        List<Object> parameters = new ArrayList<>(args);
+        parameters.addAll(args);
+
+        long exported;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            exported = stream(sql, parameters, generator);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} orders (from {}, to {}, status {})", exported, from, to, status);
+    }
+
+    // Forward-only cursor inside a transaction, so the driver fetches fetchSize rows at a time instead of the whole result
+    private long stream(String sql, List<Object> parameters, JsonGenerator generator) {
+        long[] exported = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }, rs -> {
+            try {
+                writeOrder(rs, generator);
+                if (++exported[0] % fetchSize == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return exported[0];
+    }
+
+    private void writeOrder(ResultSet rs, JsonGenerator generator) throws SQLException, IOException {
+        OffsetDateTime createdAt = rs.getObject("created_at", OffsetDateTime.class);
+        OffsetDateTime updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+        String details = rs.getString("details");
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeNumberField("userId", rs.getLong("user_id"));
+        generator.writeStringField("status", rs.getString("status"));
+        generator.writeStringField("createdAt", createdAt != null ? createdAt.toString() : null);
+        generator.writeStringField("updatedAt", updatedAt != null ? updatedAt.toString() : null);
+        generator.writeFieldName("items");
+        generator.writeRawValue(rs.getString("items"));
+        generator.writeFieldName("details");
+        generator.writeRawValue(details != null ? details : "[]");
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
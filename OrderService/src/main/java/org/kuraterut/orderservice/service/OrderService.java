@@ -2,23 +2,32 @@ package org.kuraterut.orderservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.dto.request.CreateOrderBatchRequest;
 import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.dto.response.OrderBatchResponse;
+import org.kuraterut.orderservice.dto.response.OrderCursorPageResponse;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
 import org.kuraterut.orderservice.exception.model.OrderNotFoundException;
 import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.ArchivedOrder;
 import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.entity.OrderView;
 import org.kuraterut.orderservice.model.event.outbox.CreateOrderEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderCursor;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
 import org.kuraterut.orderservice.model.event.OrderCreatedEvent;
+import org.kuraterut.orderservice.repository.OrderArchiveRepository;
 import org.kuraterut.orderservice.repository.OrderOutboxRepository;
 import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.OrderSpecifications;
+import org.kuraterut.orderservice.repository.OrderViewRepository;
 import org.kuraterut.orderservice.usecases.CreateOrderUseCase;
 import org.kuraterut.orderservice.usecases.GetOrderUseCase;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -26,27 +35,45 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @CacheConfig(cacheNames = "orders")
 public class OrderService implements CreateOrderUseCase, GetOrderUseCase{
+    private static final String PAGE_KEY =
+            " + '_page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize + '_sort_' + #pageable.sort";
+    private static final Comparator<OrderView> NEWEST_FIRST =
+            Comparator.comparing(OrderView::getCreatedAt).thenComparing(OrderView::getId).reversed();
+
     private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderViewProjector orderViewProjector;
     private final OrderOutboxRepository orderOutboxRepository;
     private final OrderMapper orderMapper;
+    private final KafkaBatchSender kafkaBatchSender;
+    private final OrderCacheInvalidator orderCacheInvalidator;
+    private final SagaDeadlineRegistry sagaDeadlineRegistry;
+    private final OrderStatsService orderStatsService;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OutboxMetrics outboxMetrics;
 
     private final KafkaTemplate<String, OrderCreatedEvent> orderCreatedEventKafkaTemplate;
 
     @Value("${kafka-topics.order-created}")
     private String orderCreatedTopic;
 
+    @Value("${orders.archive.min-age}")
+    private Duration archiveMinAge;
+
     @Override
     @Transactional
-    @CacheEvict(allEntries = true)
     public OrderResponse createOrder(CreateOrderRequest request, Long userId)  {
         Order order = orderMapper.toEntity(request, userId);
 
@@ -55,15 +82,38 @@ public class OrderService implements CreateOrderUseCase, GetOrderUseCase{
 
         CreateOrderEventOutbox createOrderEventOutbox = orderMapper.toOutbox(order);
         orderOutboxRepository.save(createOrderEventOutbox);
+        orderCacheInvalidator.evictOrder(order.getId(), userId, order.getStatus());
+        sagaDeadlineRegistry.track(order);
+        orderStatsService.recordTransition(order, null);
+        orderViewProjector.created(List.of(order));
 
         return orderMapper.toResponse(order);
     }
 
+    @Override
+    @Transactional
+    public OrderBatchResponse createOrders(CreateOrderBatchRequest request, Long userId) {
+        List<Order> orders = request.getOrders().stream()
+                .map(orderRequest -> orderMapper.toEntity(orderRequest, userId))
+                .toList();
+        orders.forEach(order -> order.setStatus(OrderStatus.CREATED));
+        orders = orderRepository.saveAll(orders);
+
+        orderOutboxRepository.saveAll(orders.stream().map(orderMapper::toOutbox).toList());
+        orderRepository.flush();
+        orderCacheInvalidator.evictOrder(null, userId, OrderStatus.CREATED);
+        orders.forEach(sagaDeadlineRegistry::track);
+        orderStatsService.recordTransitions(orders, null);
+        orderViewProjector.created(orders);
+
+        return new OrderBatchResponse(orders.stream().map(orderMapper::toResponse).toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'all_orders_page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize")
+    @Cacheable(key = "'all_orders'" + PAGE_KEY)
     public OrderListResponse getAllOrders(Pageable pageable) {
-        Page<Order> orders = orderRepository.findAll(pageable);
+        Page<OrderView> orders = orderViewRepository.findAll(pageable);
         return orderMapper.toResponses(orders);
     }
 
@@ -71,70 +121,131 @@ public class OrderService implements CreateOrderUseCase, GetOrderUseCase{
     @Transactional(readOnly = true)
     @Cacheable(key = "'order_by_id_' + #orderId")
     public OrderResponse getOrderById(Long orderId)  {
-        Order order = orderRepository.findById(orderId)
+        OrderView order = orderViewRepository.findById(orderId)
+                .or(() -> orderArchiveRepository.findById(orderId).map(orderMapper::toView))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by id: " + orderId));
         return orderMapper.toResponse(order);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'orders_user_' + #userId + '_page_' + #pageable.pageNumber")
+    @Cacheable(key = "'orders_user_' + #userId" + PAGE_KEY)
     public OrderListResponse getAllOrdersByUserId(Long userId, Pageable pageable)  {
-        Page<Order> orders = orderRepository.findAllByUserId(userId, pageable);
+        Page<OrderView> orders = orderViewRepository.findAllByUserId(userId, pageable);
         return orderMapper.toResponses(orders);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'orders_status_' + #orderStatus.name() + '_page_' + #pageable.pageNumber")
+    @Cacheable(key = "'orders_status_' + #orderStatus.name()" + PAGE_KEY)
     public OrderListResponse getAllOrdersByOrderStatus(OrderStatus orderStatus, Pageable pageable)  {
-        Page<Order> orders = orderRepository.findAllByStatus(orderStatus, pageable);
+        Page<OrderView> orders = orderViewRepository.findAllByStatus(orderStatus, pageable);
         return orderMapper.toResponses(orders);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'orders_status_' + #orderStatus.name() + '_user_' + #userId + '_page_' + #pageable.pageNumber")
+    @Cacheable(key = "'orders_status_' + #orderStatus.name() + '_user_' + #userId" + PAGE_KEY)
     public OrderListResponse getAllOrdersByOrderStatus(OrderStatus orderStatus, Long userId, Pageable pageable)  {
-        Page<Order> orders = orderRepository.findAllByStatusAndUserId(orderStatus, userId, pageable);
+        Page<OrderView> orders = orderViewRepository.findAllByStatusAndUserId(orderStatus, userId, pageable);
         return orderMapper.toResponses(orders);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'orders_after_' + #afterCreatedAt.toEpochSecond() + '_page_' + #pageable.pageNumber")
+    @Cacheable(key = "'orders_after_' + #afterCreatedAt.toInstant()" + PAGE_KEY)
     public OrderListResponse getAllOrdersByCreatedAtAfter(OffsetDateTime afterCreatedAt, Pageable pageable)  {
-        Page<Order> orders = orderRepository.findAllByCreatedAtAfter(afterCreatedAt, pageable);
+        Page<OrderView> orders = orderViewRepository.findAllByCreatedAtAfter(afterCreatedAt, pageable);
         return orderMapper.toResponses(orders);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "'orders_after_' + #afterCreatedAt.toEpochSecond() + '_user_' + #userId + '_page_' + #pageable.pageNumber")
+    @Cacheable(key = "'orders_after_' + #afterCreatedAt.toInstant() + '_user_' + #userId" + PAGE_KEY)
     public OrderListResponse getAllOrdersByCreatedAtAfter(OffsetDateTime afterCreatedAt, Long userId, Pageable pageable)  {
-        Page<Order> orders = orderRepository.findAllByCreatedAtAfterAndUserId(afterCreatedAt, userId, pageable);
+        Page<OrderView> orders = orderViewRepository.findAllByCreatedAtAfterAndUserId(afterCreatedAt, userId, pageable);
+        return orderMapper.toResponses(orders);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(key = "'orders_search_status_' + (#status ?: 'any') + '_user_' + (#userId ?: 'any') + " +
+            "'_from_' + (#from?.toInstant() ?: 'any') + '_to_' + (#to?.toInstant() ?: 'any')" + PAGE_KEY)
+    public OrderListResponse searchOrders(OrderStatus status, Long userId, OffsetDateTime from, OffsetDateTime to,
+                                          Pageable pageable) {
+        Page<OrderView> orders = orderViewRepository.findAll(OrderSpecifications.search(status, userId, from, to), pageable);
         return orderMapper.toResponses(orders);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(key = "'all_orders_cursor_' + (#after ?: 'first') + '_size_' + #size")
+    public OrderCursorPageResponse getAllOrders(String after, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<OrderView> orders;
+        if (after == null) {
+            orders = orderViewRepository.findFirstPage(limit);
+            orders = withArchived(orders, size, () -> orderArchiveRepository.findFirstPage(limit));
+        } else {
+            OrderCursor cursor = OrderCursor.decode(after);
+            orders = orderViewRepository.findPageBefore(cursor.createdAt(), cursor.id(), limit);
+            orders = withArchived(orders, size,
+                    () -> orderArchiveRepository.findPageBefore(cursor.createdAt(), cursor.id(), limit));
+        }
+        return toCursorPage(orders, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(key = "'orders_cursor_user_' + #userId + '_' + (#after ?: 'first') + '_size_' + #size")
+    public OrderCursorPageResponse getAllOrdersByUserId(Long userId, String after, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<OrderView> orders;
+        if (after == null) {
+            orders = orderViewRepository.findFirstPageByUserId(userId, limit);
+            orders = withArchived(orders, size, () -> orderArchiveRepository.findFirstPageByUserId(userId, limit));
+        } else {
+            OrderCursor cursor = OrderCursor.decode(after);
+            orders = orderViewRepository.findPageBeforeByUserId(userId, cursor.createdAt(), cursor.id(), limit);
+            orders = withArchived(orders, size, () -> orderArchiveRepository.findPageBeforeByUserId(userId,
+                    cursor.createdAt(), cursor.id(), limit));
+        }
+        return toCursorPage(orders, size);
+    }
+
+    // Archived orders were created before now - min-age, so a full page of newer hot orders never needs the archive
+    private List<OrderView> withArchived(List<OrderView> orders, int size, Supplier<List<ArchivedOrder>> archived) {
+        if (orders.size() > size && orders.get(size).getCreatedAt().isAfter(OffsetDateTime.now().minus(archiveMinAge))) {
+            return orders;
+        }
+        List<OrderView> merged = new ArrayList<>(orders);
+        archived.get().forEach(archivedOrder -> merged.add(orderMapper.toView(archivedOrder)));
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > size + 1 ? merged.subList(0, size + 1) : merged;
+    }
+
+    private OrderCursorPageResponse toCursorPage(List<OrderView> orders, int size) {
+        List<OrderView> page = orders.size() > size ? orders.subList(0, size) : orders;
+        String nextCursor = null;
+        if (orders.size() > size) {
+            OrderView last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderCursorPageResponse(page.stream().map(orderMapper::toResponse).toList(), nextCursor);
+    }
+
     @Transactional
     @Scheduled(fixedRateString = "${scheduling.process-create-order-rate}")
     public void processCreateOrderEvent() {
-        //TODO N+1
-        List<CreateOrderEventOutbox> createOrderEventOutboxList = orderOutboxRepository.findTop100ByProcessedIsFalse();
-        for (CreateOrderEventOutbox createOrderEventOutbox : createOrderEventOutboxList){
-            try{
-                OrderCreatedEvent event = new OrderCreatedEvent();
-                event.setUserId(createOrderEventOutbox.getOrder().getUserId());
-                event.setOrderId(createOrderEventOutbox.getOrder().getId());
-                event.setItems(orderMapper.toResponses(createOrderEventOutbox.getOrder().getItems()));
-
-                orderCreatedEventKafkaTemplate.send(orderCreatedTopic, event).get();
-
-                orderOutboxRepository.markAsProcessed(createOrderEventOutbox.getId());
-            } catch (InterruptedException | ExecutionException e) {
-                log.error("Failed to process outbox with id: {}", createOrderEventOutbox.getId(), e);
-            }
+        long start = System.nanoTime();
+        List<CreateOrderEventOutbox> createOrderEventOutboxList = orderOutboxRepository.findTop100UnprocessedForUpdate();
+        List<Long> sentIds = kafkaBatchSender.sendAll(orderCreatedEventKafkaTemplate, orderCreatedTopic,
+                createOrderEventOutboxList, CreateOrderEventOutbox::getId, outbox -> String.valueOf(outbox.getOrderId()),
+                CreateOrderEventOutbox::getPayload);
+        if (!sentIds.isEmpty()) {
+            orderOutboxRepository.markAllAsProcessed(sentIds);
         }
+        outboxMetrics.recordTick(OutboxMetrics.ORDERS_OUTBOX, sentIds.size(), start);
     }
 
 }
@@ -0,0 +1,212 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.dto.response.OrderStatsResponse;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatsRow;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.usecases.OrderStatsUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatsService implements OrderStatsUseCase {
+    public static final String TOTAL_KEY = "order-stats:total";
+    public static final String DAY_KEY_PREFIX = "order-stats:day:";
+    public static final String USER_KEY_PREFIX = "order-stats:user:";
+    public static final String INITIALIZED_KEY = "order-stats:initialized";
+    public static final String RECONCILE_LOCK_KEY = "order-stats:reconcile-lock";
+    private static final String REBUILD_KEY_PREFIX = "order-stats:rebuild:";
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final OrderRepository orderRepository;
+
+    @Value("${orders.stats.reconcile-lock-ttl}")
+    private Duration reconcileLockTtl;
+
+    public void recordTransition(Order order, OrderStatus previousStatus) {
+        recordTransitions(List.of(order), previousStatus);
+    }
+
+    public void recordTransitions(Collection<Order> orders, OrderStatus previousStatus) {
+        List<Transition> transitions = orders.stream()
+                .map(order -> new Transition(order.getUserId(), dayOf(order), previousStatus, order.getStatus()))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordNow(transitions);
+                }
+            });
+        } else {
+            recordNow(transitions);
+        }
+    }
+
+    @Override
+    public OrderStatsResponse getStats(LocalDate day, Long userId) {
+        LocalDate statsDay = day != null ? day : LocalDate.now(ZoneOffset.UTC);
+        return new OrderStatsResponse(
+                read(TOTAL_KEY),
+                statsDay,
+                read(DAY_KEY_PREFIX + statsDay),
+                userId,
+                userId != null ? read(USER_KEY_PREFIX + userId) : Map.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(INITIALIZED_KEY, "1"))) {
+                return;
+            }
+            rebuild();
+            log.info("Rebuilt order statistics");
+        } catch (DataAccessException e) {
+            log.warn("Failed to rebuild order statistics: {}", e.getMessage());
+            redisTemplate.delete(INITIALIZED_KEY);
+        }
+    }
+
+    // Increments that land between the database snapshot and the rename are lost, this bounds that drift
+    @Scheduled(cron = "${orders.stats.reconcile-cron}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, "1", reconcileLockTtl))) {
+                return;
+            }
+            rebuild();
+            log.info("Reconciled order statistics");
+        } catch (DataAccessException e) {
+            log.warn("Failed to reconcile order statistics: {}", e.getMessage());
+        }
+    }
+
+    // Every hash is built under a private key and renamed over the live one,
+    // so live increments are never merged into or overwritten by a half-written snapshot
+    private void rebuild() {
+        String buildPrefix = REBUILD_KEY_PREFIX + UUID.randomUUID() + ":";
+        writeAll(orderRepository.countByStatus(), row -> TOTAL_KEY, buildPrefix);
+        writeAll(orderRepository.countByDayAndStatus(), row -> DAY_KEY_PREFIX + row.getBucket(), buildPrefix);
+        try (Stream<OrderStatsRow> userRows = orderRepository.streamCountByUserAndStatus()) {
+            List<OrderStatsRow> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+            userRows.forEach(userRow -> {
+                chunk.add(userRow);
+                if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                    writeAll(chunk, row -> USER_KEY_PREFIX + row.getBucket(), buildPrefix);
+                    chunk.clear();
+                }
+            });
+            writeAll(chunk, row -> USER_KEY_PREFIX + row.getBucket(), buildPrefix);
+        }
+    }
+
+    private void recordNow(List<Transition> transitions) {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    HashOperations<String, String, String> hashes = hashOperations(operations);
+                    for (Transition transition : transitions) {
+                        increment(hashes, TOTAL_KEY, transition);
+                        increment(hashes, DAY_KEY_PREFIX + transition.day(), transition);
+                        increment(hashes, USER_KEY_PREFIX + transition.userId(), transition);
+                    }
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to record {} order status transitions: {}", transitions.size(), e.getMessage());
+        }
+    }
+
+    private void increment(HashOperations<String, String, String> hashes, String key, Transition transition) {
+        if (transition.from() != null) {
+            hashes.increment(key, transition.from().name(), -1);
+        }
+        hashes.increment(key, transition.to().name(), 1);
+    }
+
+    private void writeAll(List<OrderStatsRow> rows, Function<OrderStatsRow, String> keyOf, String buildPrefix) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, String>> counts = new HashMap<>();
+        for (OrderStatsRow row : rows) {
+            counts.computeIfAbsent(keyOf.apply(row), key -> new HashMap<>())
+                    .put(row.getStatus(), String.valueOf(row.getTotal()));
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                HashOperations<String, String, String> hashes = hashOperations(operations);
+                counts.forEach((key, statuses) -> {
+                    hashes.putAll(buildPrefix + key, statuses);
+                    renameOperations(operations).rename(buildPrefix + key, key);
+                });
+                return null;
+            }
+        });
+    }
+
+    private Map<OrderStatus, Long> read(String key) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        redisTemplate.<String, String>opsForHash().entries(key)
+                .forEach((status, count) -> counts.put(OrderStatus.valueOf(status), Long.parseLong(count)));
+        return counts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> HashOperations<String, String, String> hashOperations(RedisOperations<K, V> operations) {
+        return (HashOperations<String, String, String>) operations.<String, String>opsForHash();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> RedisOperations<String, String> renameOperations(RedisOperations<K, V> operations) {
+        return (RedisOperations<String, String>) operations;
+    }
+
+    private static LocalDate dayOf(Order order) {
+        return order.getCreatedAt() != null
+                ? order.getCreatedAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()
+                : LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private record Transition(Long userId, LocalDate day, OrderStatus from, OrderStatus to) {
+    }
+}
@@ -0,0 +1,30 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class OrderTransitions {
+    private final OrderCacheInvalidator orderCacheInvalidator;
+    private final OrderEventsService orderEventsService;
+    private final SagaDeadlineRegistry sagaDeadlineRegistry;
+    private final OrderStatsService orderStatsService;
+    private final SagaMetrics sagaMetrics;
+    private final OrderViewProjector orderViewProjector;
+
+    // Called once the order is saved with its new status; previousUpdatedAt is read before the order was mutated.
+    // The projector flushes, so it stays last.
+    public void onTransition(Order order, OrderStatus previousStatus, OffsetDateTime previousUpdatedAt) {
+        orderCacheInvalidator.evictOrder(order.getId(), order.getUserId(), previousStatus, order.getStatus());
+        orderEventsService.publishStatusChange(order);
+        sagaDeadlineRegistry.track(order);
+        orderStatsService.recordTransition(order, previousStatus);
+        sagaMetrics.recordTransition(order, previousStatus, previousUpdatedAt);
+        orderViewProjector.changed(order);
+    }
+}
@@ -0,0 +1,58 @@
+package org.kuraterut.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class OrderViewProjector {
+    private static final String INSERT = "INSERT INTO order_view (id, user_id, status, created_at, updated_at, items, details) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb)) ON CONFLICT (id) DO NOTHING";
+    private static final String UPDATE = "UPDATE order_view SET status = ?, updated_at = ?, details = CAST(? AS jsonb) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderMapper orderMapper;
+    private final OrderRepository orderRepository;
+
+    public void created(Collection<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT, orders, orders.size(), (statement, order) -> {
+            statement.setLong(1, order.getId());
+            statement.setLong(2, order.getUserId());
+            statement.setString(3, order.getStatus().name());
+            statement.setObject(4, order.getCreatedAt());
+            statement.setObject(5, order.getUpdatedAt());
+            statement.setString(6, toJson(orderMapper.toResponses(order.getItems())));
+            statement.setString(7, toJson(order.getDetails()));
+        });
+    }
+
+    // Items never change after creation, so a transition only rewrites the mutable columns.
+    // The flush assigns the new updated_at, which is written to the view along with the status.
+    public void changed(Order order) {
+        orderRepository.flush();
+        jdbcTemplate.update(UPDATE, order.getStatus().name(), order.getUpdatedAt(), toJson(order.getDetails()),
+                order.getId());
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
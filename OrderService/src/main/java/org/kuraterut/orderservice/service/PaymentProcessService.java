@@ -7,14 +7,12 @@ import org.kuraterut.orderservice.model.event.PaymentEvent;
 import org.kuraterut.orderservice.repository.PaymentEventOutboxRepository;
 import org.kuraterut.orderservice.usecases.PaymentProcessUseCase;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +20,8 @@ import java.util.concurrent.ExecutionException;
 public class PaymentProcessService implements PaymentProcessUseCase {
     private final PaymentEventOutboxRepository paymentEventOutboxRepository;
     private final KafkaTemplate<String, PaymentEvent> paymentEventKafkaTemplate;
+    private final KafkaBatchSender kafkaBatchSender;
+    private final OutboxMetrics outboxMetrics;
 
     @Value("${kafka-topics.payment-request}")
     private String paymentRequestTopic;
@@ -29,17 +29,24 @@ public class PaymentProcessService implements PaymentProcessUseCase {
     @Override
     @Scheduled(fixedRateString = "${scheduling.process-payment-event-rate}")
     @Transactional
-    public void processPaymentEvents() throws ExecutionException, InterruptedException {
-        List<PaymentEventOutbox> outboxes = paymentEventOutboxRepository.findTop100ByProcessedIsFalse();
-        for (PaymentEventOutbox outbox : outboxes) {
-            PaymentEvent event = new PaymentEvent();
-            event.setAmount(outbox.getAmount());
-            event.setOrderId(outbox.getOrderId());
-            event.setUserId(outbox.getUserId());
-
-            paymentEventKafkaTemplate.send(paymentRequestTopic, event).get();
-            outbox.setProcessed(true);
-            paymentEventOutboxRepository.save(outbox);
+    public void processPaymentEvents() {
+        long start = System.nanoTime();
+        List<PaymentEventOutbox> outboxes = paymentEventOutboxRepository.findTop100UnprocessedForUpdate();
+        List<Long> sentIds = kafkaBatchSender.sendAll(paymentEventKafkaTemplate, paymentRequestTopic,
+                outboxes, PaymentEventOutbox::getId, outbox -> String.valueOf(outbox.getOrderId()), this::toEvent);
+        if (!sentIds.isEmpty()) {
+            paymentEventOutboxRepository.markAllAsProcessed(sentIds);
         }
+        outboxMetrics.recordTick(OutboxMetrics.PAYMENT_EVENT_OUTBOX, sentIds.size(), start);
+    }
+
+    private PaymentEvent toEvent(PaymentEventOutbox outbox) {
+        PaymentEvent event = new PaymentEvent();
+        event.setAmount(outbox.getAmount());
+        event.setOrderId(outbox.getOrderId());
+        event.setUserId(outbox.getUserId());
+        event.setType(outbox.getType());
+        event.setCreatedAt(outbox.getCreatedAt() != null ? outbox.getCreatedAt().toInstant().toEpochMilli() : null);
+        return event;
     }
 }
@@ -7,18 +7,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.kuraterut.orderservice.exception.model.OrderNotFoundException;
 import org.kuraterut.orderservice.model.entity.Order;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
+import org.kuraterut.orderservice.model.utils.PaymentResult;
 import org.kuraterut.orderservice.model.event.inbox.PaymentResultInbox;
+import org.kuraterut.orderservice.model.event.outbox.PaymentEventOutbox;
 import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
 import org.kuraterut.orderservice.model.event.PaymentResultEvent;
 import org.kuraterut.orderservice.model.event.ProductHoldRemoveEvent;
 import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
 import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.PaymentEventOutboxRepository;
 import org.kuraterut.orderservice.repository.PaymentResultInboxRepository;
 import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
 import org.kuraterut.orderservice.usecases.PaymentResultProcessUseCase;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
@@ -26,90 +28,154 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@CacheConfig(cacheNames = "orders")
 public class PaymentResultProcessService implements PaymentResultProcessUseCase {
     private final ObjectMapper objectMapper;
     private final PaymentResultInboxRepository paymentResultInboxRepository;
     private final ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
     private final OrderRepository orderRepository;
+    private final PaymentEventOutboxRepository paymentEventOutboxRepository;
 
     private final KafkaTemplate<String, ProductHoldRemoveEvent> productHoldRemoveEventKafkaTemplate;
+    private final KafkaBatchSender kafkaBatchSender;
+    private final OrderTransitions orderTransitions;
+    private final InboxDeduplicator inboxDeduplicator;
+    private final SagaMetrics sagaMetrics;
+    private final OutboxMetrics outboxMetrics;
 
     @Value("${kafka-topics.product-hold-remove}")
     private String productHoldRemoveTopic;
 
+    @Value("${saga.direct-processing}")
+    private boolean directProcessing;
+
     @Override
-    @KafkaListener(topics = "${kafka-topics.payment-result}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.payment-result}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.payment-result}",
+            containerFactory = "batchKafkaListenerContainerFactory")
     @Transactional
-    public void listenPaymentResult(String message, Acknowledgment ack) throws JsonProcessingException {
-        PaymentResultEvent event = objectMapper.readValue(message, PaymentResultEvent.class);
-        PaymentResultInbox inbox =  new PaymentResultInbox();
-        inbox.setProcessed(false);
-        inbox.setResult(event.getResult());
-        inbox.setOrderId(event.getOrderId());
-        paymentResultInboxRepository.save(inbox);
+    public void listenPaymentResult(List<String> messages, Acknowledgment ack) {
+        List<PaymentResultInbox> inboxes = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                PaymentResultEvent event = objectMapper.readValue(message, PaymentResultEvent.class);
+                sagaMetrics.recordHop("payment-result", event.getCreatedAt());
+                if (directProcessing && applyDirectly(event)) {
+                    continue;
+                }
+                PaymentResultInbox inbox = new PaymentResultInbox();
+                inbox.setProcessed(false);
+                inbox.setResult(event.getResult());
+                inbox.setOrderId(event.getOrderId());
+                inboxes.add(inbox);
+            } catch (JsonProcessingException e) {
+                log.error("Skipping malformed payment result event: {}", e.getMessage());
+            }
+        }
+        paymentResultInboxRepository.saveAll(inboxes);
         ack.acknowledge();
     }
 
     @Override
     @Scheduled(fixedRateString = "${scheduling.process-payment-result-rate}")
     @Transactional
-    @CacheEvict(allEntries = true)
     public void processPaymentResult() {
-        List<PaymentResultInbox> inboxes = paymentResultInboxRepository.findTop100ByProcessedIsFalse();
+        long start = System.nanoTime();
+        List<PaymentResultInbox> inboxes = paymentResultInboxRepository.findTop100UnprocessedForUpdate();
         for (PaymentResultInbox inbox : inboxes) {
-            Order order = orderRepository.findById(inbox.getOrderId())
-                    .orElseThrow(() -> new OrderNotFoundException("Order not found by id: " + inbox.getOrderId()));
-            ProductHoldRemoveEventOutbox outbox = new ProductHoldRemoveEventOutbox();
-            switch (inbox.getResult()){
-                case SUCCESS:
-                    order.setStatus(OrderStatus.COMPLETED);
-                    outbox.setDetails(ProductHoldRemoveEventDetails.TO_REMOVE);
-                    outbox.setOrderId(order.getId());
-                    outbox.setProcessed(false);
-                    productHoldRemoveEventOutboxRepository.save(outbox);
-                    break;
-                case NOT_ENOUGH_MONEY:
-                    order.setStatus(OrderStatus.PAYMENT_FAILED_NOT_ENOUGH_MONEY);
-                    outbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
-                    outbox.setOrderId(order.getId());
-                    outbox.setProcessed(false);
-                    productHoldRemoveEventOutboxRepository.save(outbox);
-                    break;
-                case NOT_FOUND:
-                    order.setStatus(OrderStatus.PAYMENT_FAILED_NOT_FOUND);
-                    outbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
-                    outbox.setOrderId(order.getId());
-                    outbox.setProcessed(false);
-                    productHoldRemoveEventOutboxRepository.save(outbox);
-                    break;
+            if (inboxDeduplicator.markHandled(inbox.getOrderId(), InboxDeduplicator.PAYMENT_RESULT)) {
+                Order order = orderRepository.findByIdForUpdate(inbox.getOrderId())
+                        .orElseThrow(() -> new OrderNotFoundException("Order not found by id: " + inbox.getOrderId()));
+                applyPaymentResult(order, inbox.getResult());
+            } else {
+                log.warn("Skipping duplicate payment result of order {}", inbox.getOrderId());
             }
-            orderRepository.save(order);
             inbox.setProcessed(true);
             paymentResultInboxRepository.save(inbox);
+        }
+        outboxMetrics.recordTick(OutboxMetrics.PAYMENT_RESULT_INBOX, inboxes.size(), start);
+    }
 
+    private boolean applyDirectly(PaymentResultEvent event) {
+        Order order = orderRepository.findByIdForUpdate(event.getOrderId()).orElse(null);
+        if (order == null) {
+            log.warn("Order {} not found, leaving payment result to the inbox poller", event.getOrderId());
+            return false;
+        }
+        if (inboxDeduplicator.markHandled(event.getOrderId(), InboxDeduplicator.PAYMENT_RESULT)) {
+            applyPaymentResult(order, event.getResult());
+        } else {
+            log.warn("Skipping duplicate payment result of order {}", event.getOrderId());
         }
+        return true;
+    }
+
+    private void applyPaymentResult(Order order, PaymentResult result) {
+        if (order.getStatus() == OrderStatus.PAYMENT_TIMEOUT && result == PaymentResult.SUCCESS) {
+            // the hold is already returned, so the late charge is given back instead of completing the order
+            log.warn("Refunding late payment of order {} in status {}", order.getId(), order.getStatus());
+            PaymentEventOutbox refund = new PaymentEventOutbox();
+            refund.setOrderId(order.getId());
+            refund.setUserId(order.getUserId());
+            refund.setType(PaymentEventType.REFUND);
+            refund.setProcessed(false);
+            paymentEventOutboxRepository.save(refund);
+            return;
+        }
+        if (order.getStatus() != OrderStatus.PENDING_PAYMENT) {
+            log.warn("Ignoring payment result {} of order {} in status {}", result, order.getId(), order.getStatus());
+            return;
+        }
+        OrderStatus previousStatus = order.getStatus();
+        OffsetDateTime previousUpdatedAt = order.getUpdatedAt();
+        ProductHoldRemoveEventOutbox outbox = new ProductHoldRemoveEventOutbox();
+        switch (result){
+            case SUCCESS:
+                order.setStatus(OrderStatus.COMPLETED);
+                outbox.setDetails(ProductHoldRemoveEventDetails.TO_REMOVE);
+                break;
+            case NOT_ENOUGH_MONEY:
+                order.setStatus(OrderStatus.PAYMENT_FAILED_NOT_ENOUGH_MONEY);
+                outbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
+                break;
+            case NOT_FOUND:
+                order.setStatus(OrderStatus.PAYMENT_FAILED_NOT_FOUND);
+                outbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
+                break;
+        }
+        outbox.setOrderId(order.getId());
+        outbox.setProcessed(false);
+        productHoldRemoveEventOutboxRepository.save(outbox);
+        orderRepository.save(order);
+        orderTransitions.onTransition(order, previousStatus, previousUpdatedAt);
     }
 
     @Override
     @Scheduled(fixedRateString = "${scheduling.process-product-hold-remove-rate}")
     @Transactional
-    public void processProductHoldRemoveEvent() throws ExecutionException, InterruptedException {
-        List<ProductHoldRemoveEventOutbox> outboxes = productHoldRemoveEventOutboxRepository.findTop100ByProcessedIsFalse();
-        for (ProductHoldRemoveEventOutbox outbox : outboxes) {
-            ProductHoldRemoveEvent event = new ProductHoldRemoveEvent();
-            event.setOrderId(outbox.getOrderId());
-            event.setDetails(outbox.getDetails());
-            productHoldRemoveEventKafkaTemplate.send(productHoldRemoveTopic, event).get();
-            outbox.setProcessed(true);
-            productHoldRemoveEventOutboxRepository.save(outbox);
+    public void processProductHoldRemoveEvent() {
+        long start = System.nanoTime();
+        List<ProductHoldRemoveEventOutbox> outboxes = productHoldRemoveEventOutboxRepository.findTop100UnprocessedForUpdate();
+        List<Long> sentIds = kafkaBatchSender.sendAll(productHoldRemoveEventKafkaTemplate, productHoldRemoveTopic,
+                outboxes, ProductHoldRemoveEventOutbox::getId, outbox -> String.valueOf(outbox.getOrderId()), this::toEvent);
+        if (!sentIds.isEmpty()) {
+            productHoldRemoveEventOutboxRepository.markAllAsProcessed(sentIds);
         }
+        outboxMetrics.recordTick(OutboxMetrics.PRODUCT_HOLD_REMOVE_EVENT_OUTBOX, sentIds.size(), start);
+    }
+
+    private ProductHoldRemoveEvent toEvent(ProductHoldRemoveEventOutbox outbox) {
+        ProductHoldRemoveEvent event = new ProductHoldRemoveEvent();
+        event.setOrderId(outbox.getOrderId());
+        event.setDetails(outbox.getDetails());
+        event.setCreatedAt(outbox.getCreatedAt() != null ? outbox.getCreatedAt().toInstant().toEpochMilli() : null);
+        return event;
     }
 
 }
@@ -7,51 +7,63 @@ import lombok.extern.slf4j.Slf4j;
 import org.kuraterut.orderservice.exception.model.OrderNotFoundException;
 import org.kuraterut.orderservice.model.entity.Order;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
+import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
 import org.kuraterut.orderservice.model.event.outbox.PaymentEventOutbox;
+import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
 import org.kuraterut.orderservice.model.event.ProductHoldFailedEvent;
-import org.kuraterut.orderservice.model.event.dto.ProductHoldItemFailed;
 import org.kuraterut.orderservice.model.event.dto.ProductHoldItemSuccess;
 import org.kuraterut.orderservice.model.event.ProductHoldSuccessEvent;
 import org.kuraterut.orderservice.repository.OrderRepository;
 import org.kuraterut.orderservice.repository.PaymentEventOutboxRepository;
+import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
 import org.kuraterut.orderservice.usecases.ProductHoldProcessUseCase;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-@CacheConfig(cacheNames = "orders")
 public class ProductHoldProcessService implements ProductHoldProcessUseCase {
+    // The sweeper gave up on these orders, so a hold that arrives afterwards has to be returned
+    private static final Set<OrderStatus> LATE_HOLD_STATUSES = EnumSet.of(OrderStatus.CANCELLED, OrderStatus.PAYMENT_TIMEOUT);
+
     private final OrderRepository orderRepository;
     private final PaymentEventOutboxRepository paymentEventOutboxRepository;
     private final ObjectMapper objectMapper;
+    private final OrderTransitions orderTransitions;
+    private final SagaMetrics sagaMetrics;
+    private final ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
 
     @Override
-    @KafkaListener(topics = "${kafka-topics.product-hold-failed}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.product-hold-failed}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.product-hold-failed}")
     @Transactional
-    @CacheEvict(allEntries = true)
     public void listenProductHoldFailed(String message, Acknowledgment ack){
         try{
             ProductHoldFailedEvent event = objectMapper.readValue(message, ProductHoldFailedEvent.class);
-            Order order = orderRepository.findById(event.getOrderId())
+            sagaMetrics.recordHop("product-hold-failed", event.getCreatedAt());
+            Order order = orderRepository.findByIdForUpdate(event.getOrderId())
                     .orElseThrow(() -> new OrderNotFoundException("Order not found by id: " + event.getOrderId()));
-            List<String> details = new ArrayList<>();
-            for(ProductHoldItemFailed item : event.getItems()){
-                details.add(objectMapper.writeValueAsString(item));
+            if (order.getStatus() != OrderStatus.CREATED) {
+                log.warn("Ignoring product hold failure of order {} in status {}", order.getId(), order.getStatus());
+                ack.acknowledge();
+                return;
             }
-            order.setDetails(details);
+            OrderStatus previousStatus = order.getStatus();
+            OffsetDateTime previousUpdatedAt = order.getUpdatedAt();
+            order.setDetails(event.getItems());
             order.setStatus(OrderStatus.PRODUCT_RESERVATION_FAILED);
 
             orderRepository.save(order);
+            orderTransitions.onTransition(order, previousStatus, previousUpdatedAt);
             ack.acknowledge();
         } catch (JsonProcessingException e) {
             log.error(e.getMessage());
@@ -59,14 +71,30 @@ public class ProductHoldProcessService implements ProductHoldProcessUseCase {
     }
 
     @Override
-    @KafkaListener(topics = "${kafka-topics.product-hold-success}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.product-hold-success}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.product-hold-success}")
     @Transactional
-    @CacheEvict(allEntries = true)
     public void listenProductHoldSuccess(String message, Acknowledgment ack){
         try{
             ProductHoldSuccessEvent event = objectMapper.readValue(message, ProductHoldSuccessEvent.class);
-            Order order = orderRepository.findById(event.getOrderId())
+            sagaMetrics.recordHop("product-hold-success", event.getCreatedAt());
+            Order order = orderRepository.findByIdForUpdate(event.getOrderId())
                     .orElseThrow(() -> new OrderNotFoundException("Order not found by id: " + event.getOrderId()));
+            if (LATE_HOLD_STATUSES.contains(order.getStatus())) {
+                log.warn("Returning late product hold of order {} in status {}", order.getId(), order.getStatus());
+                ProductHoldRemoveEventOutbox removeOutbox = new ProductHoldRemoveEventOutbox();
+                removeOutbox.setOrderId(order.getId());
+                removeOutbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
+                removeOutbox.setProcessed(false);
+                productHoldRemoveEventOutboxRepository.save(removeOutbox);
+                ack.acknowledge();
+                return;
+            }
+            if (order.getStatus() != OrderStatus.CREATED) {
+                log.warn("Ignoring duplicate product hold of order {} in status {}", order.getId(), order.getStatus());
+                ack.acknowledge();
+                return;
+            }
 
             PaymentEventOutbox outbox = new PaymentEventOutbox();
             outbox.setOrderId(event.getOrderId());
@@ -76,11 +104,15 @@ public class ProductHoldProcessService implements ProductHoldProcessUseCase {
                 totalAmount = totalAmount.add(item.getTotalPrice());
             }
             outbox.setAmount(totalAmount);
+            outbox.setType(PaymentEventType.PAYMENT);
             outbox.setProcessed(false);
             paymentEventOutboxRepository.save(outbox);
 
+            OrderStatus previousStatus = order.getStatus();
+            OffsetDateTime previousUpdatedAt = order.getUpdatedAt();
             order.setStatus(OrderStatus.PENDING_PAYMENT);
             orderRepository.save(order);
+            orderTransitions.onTransition(order, previousStatus, previousUpdatedAt);
             ack.acknowledge();
 
         } catch (JsonProcessingException e) {
@@ -0,0 +1,93 @@
+package org.kuraterut.orderservice.service;
+
+import jakarta.annotation.PostConstruct;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SagaDeadlineRegistry {
+
+    @Value("${saga.timeout.created}")
+    private Duration createdTimeout;
+
+    @Value("${saga.timeout.pending-payment}")
+    private Duration pendingPaymentTimeout;
+
+    @Value("${saga.timeout.retry-delay}")
+    private Duration retryDelay;
+
+    @Value("${saga.timeout.tick}")
+    private Duration tick;
+
+    @Value("${saga.timeout.wheel-size}")
+    private int wheelSize;
+
+    @Value("${saga.timeout.levels}")
+    private int levels;
+
+    private Map<OrderStatus, Duration> timeouts;
+    private HierarchicalTimingWheel<Long> wheel;
+
+    @PostConstruct
+    void init() {
+        timeouts = Map.of(
+                OrderStatus.CREATED, createdTimeout,
+                OrderStatus.PENDING_PAYMENT, pendingPaymentTimeout
+        );
+        wheel = new HierarchicalTimingWheel<>(tick.toMillis(), wheelSize, levels, System.currentTimeMillis());
+    }
+
+    public void track(Order order) {
+        Long orderId = order.getId();
+        OrderStatus status = order.getStatus();
+        OffsetDateTime since = OffsetDateTime.now();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    track(orderId, status, since);
+                }
+            });
+        } else {
+            track(orderId, status, since);
+        }
+    }
+
+    public void track(Long orderId, OrderStatus status, OffsetDateTime since) {
+        Duration timeout = timeouts.get(status);
+        if (timeout == null) {
+            wheel.cancel(orderId);
+        } else {
+            wheel.schedule(orderId, since.plus(timeout).toInstant().toEpochMilli());
+        }
+    }
+
+    public void retry(Long orderId) {
+        wheel.schedule(orderId, System.currentTimeMillis() + retryDelay.toMillis());
+    }
+
+    public Duration timeoutOf(OrderStatus status) {
+        return timeouts.get(status);
+    }
+
+    public List<OrderStatus> trackedStatuses() {
+        return List.copyOf(timeouts.keySet());
+    }
+
+    public List<Long> expired(long nowMs) {
+        return wheel.advance(nowMs);
+    }
+
+    public int size() {
+        return wheel.size();
+    }
+}
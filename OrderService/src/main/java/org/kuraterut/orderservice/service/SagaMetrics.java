@@ -0,0 +1,71 @@
+package org.kuraterut.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class SagaMetrics {
+    public static final String HOP_LATENCY = "saga.hop.latency";
+    public static final String STAGE_DURATION = "saga.stage.duration";
+    public static final String SAGA_DURATION = "saga.duration";
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordHop(String event, Long createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        record(timer(HOP_LATENCY, "event", event), System.currentTimeMillis() - createdAt);
+    }
+
+    // The caller passes the updated_at read before the transition, so the timing does not depend on when the entity is flushed
+    public void recordTransition(Order order, OrderStatus previousStatus, OffsetDateTime previousUpdatedAt) {
+        OrderStatus status = order.getStatus();
+        OffsetDateTime createdAt = order.getCreatedAt();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordTransition(previousStatus, status, previousUpdatedAt, createdAt);
+                }
+            });
+        } else {
+            recordTransition(previousStatus, status, previousUpdatedAt, createdAt);
+        }
+    }
+
+    public void recordTransition(OrderStatus from, OrderStatus to, OffsetDateTime enteredAt, OffsetDateTime createdAt) {
+        long now = System.currentTimeMillis();
+        if (from != null && enteredAt != null) {
+            record(timer(STAGE_DURATION, "stage", from.name()), now - enteredAt.toInstant().toEpochMilli());
+        }
+        if (OrderEventsService.FINAL_STATUSES.contains(to) && createdAt != null) {
+            record(timer(SAGA_DURATION, "outcome", to.name()), now - createdAt.toInstant().toEpochMilli());
+        }
+    }
+
+    private void record(Timer timer, long millis) {
+        timer.record(Math.max(millis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private Timer timer(String name, String tag, String value) {
+        return Timer.builder(name)
+                .tag(tag, value)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry);
+    }
+}
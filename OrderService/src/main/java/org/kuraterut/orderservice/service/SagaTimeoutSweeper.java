@@ -0,0 +1,84 @@
+package org.kuraterut.orderservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SagaTimeoutSweeper {
+    private final SagaDeadlineRegistry sagaDeadlineRegistry;
+    private final OrderRepository orderRepository;
+    private final ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
+    private final OrderTransitions orderTransitions;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildDeadlines() {
+        AtomicInteger count = new AtomicInteger();
+        orderRepository.streamByStatusIn(sagaDeadlineRegistry.trackedStatuses()).forEach(snapshot -> {
+            sagaDeadlineRegistry.track(snapshot.getId(), snapshot.getStatus(), snapshot.getUpdatedAt());
+            count.incrementAndGet();
+        });
+        log.info("Rebuilt {} saga deadlines", count.get());
+    }
+
+    @Scheduled(fixedRateString = "${saga.timeout.sweep-rate}")
+    public void sweep() {
+        List<Long> expired = sagaDeadlineRegistry.expired(System.currentTimeMillis());
+        for (Long orderId : expired) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(orderId));
+            } catch (RuntimeException e) {
+                log.error("Failed to compensate timed out order {}, will retry", orderId, e);
+                sagaDeadlineRegistry.retry(orderId);
+            }
+        }
+    }
+
+    private void expire(Long orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId).orElse(null);
+        if (order == null) {
+            return;
+        }
+        Duration timeout = sagaDeadlineRegistry.timeoutOf(order.getStatus());
+        if (timeout == null) {
+            return;
+        }
+        OffsetDateTime deadline = order.getUpdatedAt().plus(timeout);
+        if (deadline.isAfter(OffsetDateTime.now())) {
+            sagaDeadlineRegistry.track(orderId, order.getStatus(), order.getUpdatedAt());
+            return;
+        }
+
+        OrderStatus previousStatus = order.getStatus();
+        OffsetDateTime previousUpdatedAt = order.getUpdatedAt();
+        order.setStatus(previousStatus == OrderStatus.PENDING_PAYMENT ? OrderStatus.PAYMENT_TIMEOUT : OrderStatus.CANCELLED);
+        ProductHoldRemoveEventOutbox outbox = new ProductHoldRemoveEventOutbox();
+        outbox.setOrderId(orderId);
+        outbox.setDetails(ProductHoldRemoveEventDetails.TO_RETURN);
+        outbox.setProcessed(false);
+        productHoldRemoveEventOutboxRepository.save(outbox);
+        orderRepository.save(order);
+        orderTransitions.onTransition(order, previousStatus, previousUpdatedAt);
+        log.warn("Order {} timed out in status {}, moved to {}", orderId, previousStatus, order.getStatus());
+    }
+}
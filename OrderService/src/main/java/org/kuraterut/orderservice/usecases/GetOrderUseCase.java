@@ -1,5 +1,6 @@
 package org.kuraterut.orderservice.usecases;
 
+import org.kuraterut.orderservice.dto.response.OrderCursorPageResponse;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
@@ -16,4 +17,8 @@ public interface GetOrderUseCase {
     OrderListResponse getAllOrdersByOrderStatus(OrderStatus orderStatus, Long userId, Pageable pageable);
     OrderListResponse getAllOrdersByCreatedAtAfter(OffsetDateTime afterCreatedAt, Pageable pageable);
     OrderListResponse getAllOrdersByCreatedAtAfter(OffsetDateTime afterCreatedAt, Long userId, Pageable pageable);
+    OrderListResponse searchOrders(OrderStatus status, Long userId, OffsetDateTime from, OffsetDateTime to,
+                                   Pageable pageable);
+    OrderCursorPageResponse getAllOrders(String after, int size);
+    OrderCursorPageResponse getAllOrdersByUserId(Long userId, String after, int size);
 }
@@ -0,0 +1,7 @@
+package org.kuraterut.orderservice.usecases;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderEventsUseCase {
+    SseEmitter subscribe(Long orderId, Long userId);
+}
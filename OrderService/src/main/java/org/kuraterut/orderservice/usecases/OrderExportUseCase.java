@@ -0,0 +1,11 @@
+package org.kuraterut.orderservice.usecases;
+
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+
+public interface OrderExportUseCase {
+    void exportOrders(OffsetDateTime from, OffsetDateTime to, OrderStatus status, OutputStream out) throws IOException;
+}
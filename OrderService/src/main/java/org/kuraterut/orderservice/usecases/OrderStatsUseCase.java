@@ -0,0 +1,9 @@
+package org.kuraterut.orderservice.usecases;
+
+import org.kuraterut.orderservice.dto.response.OrderStatsResponse;
+
+import java.time.LocalDate;
+
+public interface OrderStatsUseCase {
+    OrderStatsResponse getStats(LocalDate day, Long userId);
+}
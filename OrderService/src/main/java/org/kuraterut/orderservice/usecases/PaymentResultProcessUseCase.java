@@ -1,12 +1,11 @@
 package org.kuraterut.orderservice.usecases;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.kafka.support.Acknowledgment;
 
-import java.util.concurrent.ExecutionException;
+import java.util.List;
 
 public interface PaymentResultProcessUseCase {
-    void listenPaymentResult(String message, Acknowledgment ack) throws JsonProcessingException;
+    void listenPaymentResult(List<String> messages, Acknowledgment ack);
     void processPaymentResult();
-    void processProductHoldRemoveEvent() throws ExecutionException, InterruptedException;
+    void processProductHoldRemoveEvent();
 }
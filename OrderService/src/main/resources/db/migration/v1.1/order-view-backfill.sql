@@ -0,0 +1,7 @@
+INSERT INTO order_view (id, user_id, status, created_at, updated_at, items, details)
+SELECT o.id, o.user_id, o.status, o.created_at, o.updated_at,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object('productId', i.product_id, 'quantity', i.quantity) ORDER BY i.id)
+                 FROM order_items i WHERE i.order_id = o.id), CAST('[]' AS jsonb)),
+       o.details
+FROM orders o
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,94 @@
+package benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.kuraterut.orderservice.OrderServiceApplication;
+import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
+import org.kuraterut.orderservice.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = OrderServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration.class,
+        org.springframework.kafka.annotation.KafkaBootstrapConfiguration.class
+})
+@TestPropertySource(locations = "classpath:application-test.yaml")
+// Run with: mvn -Pbenchmark test -pl OrderService -am
+public class OrderCreateThroughputBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(OrderCreateThroughputBenchmark.class);
+    private static final int WARMUP_ORDERS = 100;
+    private static final int MEASURED_ORDERS = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static GenericContainer<?> keydb = new GenericContainer<>("eqalpha/keydb:latest")
+            .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", keydb::getHost);
+        registry.add("spring.data.redis.port", () -> keydb.getMappedPort(6379));
+        registry.add("jwt.secret", () -> "test-secret-key-1234567890hasfhasfhasfhashhshasfhha");
+        registry.add("eureka.client.enabled", () -> false);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> true);
+        registry.add("spring.jpa.show-sql", () -> false);
+        registry.add("spring.kafka.bootstrap-servers", () -> "dummy:1234");
+        registry.add("spring.kafka.listener.auto-startup", () -> false);
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createOrder_throughputAndStatements() {
+        Long userId = Math.abs(System.nanoTime());
+        CreateOrderRequest request = new CreateOrderRequest(List.of(new OrderItemDto(1L, 5L), new OrderItemDto(2L, 5L)));
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            orderService.createOrder(request, userId);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            orderService.createOrder(request, userId);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("createOrder: {} orders of 2 items in {} ms ({} orders/s), {} statements per 100 orders",
+                MEASURED_ORDERS, elapsedMs, MEASURED_ORDERS * 1000L / Math.max(elapsedMs, 1),
+                statements * 100 / MEASURED_ORDERS);
+        assertThat(statements).isPositive();
+    }
+}
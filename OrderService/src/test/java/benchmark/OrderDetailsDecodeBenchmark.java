@@ -0,0 +1,111 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.type.descriptor.java.ImmutableMutabilityPlan;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.java.spi.UnknownBasicJavaType;
+import org.hibernate.type.format.FormatMapper;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+import org.junit.jupiter.api.Test;
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.event.dto.ProductHoldItemFailed;
+import org.kuraterut.orderservice.model.utils.ProductHoldItemFailedReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pbenchmark test -pl OrderService -am
+public class OrderDetailsDecodeBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(OrderDetailsDecodeBenchmark.class);
+    private static final int PAGE_SIZE = 100;
+    private static final int DETAILS_PER_ORDER = 3;
+    private static final int WARMUP_PAGES = 5_000;
+    private static final int MEASURED_PAGES = 5_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long sink;
+
+    // Before: one json_order_details row per item, each parsed with an ObjectMapper built per order.
+    // After: one jsonb array per order, decoded by the Hibernate JSON format mapper the entities use.
+    @Test
+    void decodeDetails_jsonbColumn_versusPerItemJsonRows() throws Exception {
+        FormatMapper formatMapper = new JacksonJsonFormatMapper(objectMapper);
+        JavaType<List<ProductHoldItemFailed>> detailsType = new UnknownBasicJavaType<>(
+                OrderView.class.getDeclaredField("details").getGenericType(), ImmutableMutabilityPlan.instance());
+        List<List<String>> perItemRows = new ArrayList<>();
+        List<String> jsonbRows = new ArrayList<>();
+        for (List<ProductHoldItemFailed> details : details()) {
+            List<String> rows = new ArrayList<>();
+            for (ProductHoldItemFailed item : details) {
+                rows.add(objectMapper.writeValueAsString(item));
+            }
+            perItemRows.add(rows);
+            jsonbRows.add(objectMapper.writeValueAsString(details));
+        }
+
+        Runnable before = () -> {
+            for (List<String> rows : perItemRows) {
+                ObjectMapper mapper = new ObjectMapper();
+                List<ProductHoldItemFailed> details = new ArrayList<>();
+                for (String row : rows) {
+                    try {
+                        details.add(mapper.readValue(row, ProductHoldItemFailed.class));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                sink += details.size();
+            }
+        };
+        Runnable after = () -> {
+            for (String row : jsonbRows) {
+                sink += formatMapper.fromString(row, detailsType, null).size();
+            }
+        };
+
+        Measurement legacy = measure(before);
+        Measurement jsonb = measure(after);
+        log.info("Decoding details of a page of {} orders: per-item rows {} B / {} ns, jsonb column {} B / {} ns",
+                PAGE_SIZE, legacy.bytesPerPage(), legacy.nanosPerPage(), jsonb.bytesPerPage(), jsonb.nanosPerPage());
+
+        assertThat(sink).isPositive();
+        assertThat(jsonb.bytesPerPage()).isLessThan(legacy.bytesPerPage());
+        assertThat(jsonb.nanosPerPage()).isLessThan(legacy.nanosPerPage());
+    }
+
+    private Measurement measure(Runnable page) {
+        for (int i = 0; i < WARMUP_PAGES; i++) {
+            page.run();
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_PAGES; i++) {
+            page.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Measurement(bytes / MEASURED_PAGES, elapsed / MEASURED_PAGES);
+    }
+
+    private List<List<ProductHoldItemFailed>> details() {
+        List<List<ProductHoldItemFailed>> page = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            List<ProductHoldItemFailed> details = new ArrayList<>();
+            for (long item = 0; item < DETAILS_PER_ORDER; item++) {
+                details.add(new ProductHoldItemFailed(id * 10 + item, item + 1, ProductHoldItemFailedReason.NOT_ENOUGH_ITEMS));
+            }
+            page.add(details);
+        }
+        return page;
+    }
+
+    private record Measurement(long bytesPerPage, long nanosPerPage) {
+    }
+}
@@ -1,23 +1,41 @@
 package integration;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kuraterut.orderservice.OrderServiceApplication;
+import org.kuraterut.orderservice.dto.request.CreateOrderBatchRequest;
 import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.dto.response.OrderBatchResponse;
+import org.kuraterut.orderservice.dto.response.OrderCursorPageResponse;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.model.event.PaymentResultEvent;
+import org.kuraterut.orderservice.model.event.ProductHoldSuccessEvent;
 import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
+import org.kuraterut.orderservice.model.event.dto.ProductHoldItemSuccess;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.PaymentResult;
 import org.kuraterut.orderservice.service.OrderService;
+import org.kuraterut.orderservice.service.PaymentResultProcessService;
+import org.kuraterut.orderservice.service.ProductHoldProcessService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.GenericContainer;
@@ -27,11 +45,15 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 @SpringBootTest(classes = OrderServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -63,6 +85,7 @@ public class OrderServiceIntegrationTest {
         registry.add("spring.data.redis.port", () -> keydb.getMappedPort(6379));
         registry.add("jwt.secret", () -> "test-secret-key-1234567890hasfhasfhasfhashhshasfhha");
         registry.add("eureka.client.enabled", () -> false);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> true);
         // Kafka отключаем
         registry.add("spring.kafka.bootstrap-servers", () -> "dummy:1234");
         registry.add("spring.kafka.listener.auto-startup", () -> false);
@@ -76,12 +99,34 @@ public class OrderServiceIntegrationTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductHoldProcessService productHoldProcessService;
+
+    @Autowired
+    private PaymentResultProcessService paymentResultProcessService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private Long userId;
 
     @BeforeEach
     @Transactional
     void setUp() {
         userId = Math.abs(System.nanoTime()); // уникальный ID для каждого теста
+        createOrder();
+    }
+
+    private void createOrder() {
         CreateOrderRequest request = new CreateOrderRequest();
         List<OrderItemDto> items = new ArrayList<>();
         OrderItemDto item1 = new OrderItemDto(1L, 5L);
@@ -108,6 +153,24 @@ public class OrderServiceIntegrationTest {
         assertThat(response.getStatus()).isEqualTo(OrderStatus.CREATED);
     }
 
+    @Test
+    void createOrders_success() {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (long i = 1; i <= 120; i++) {
+            requests.add(new CreateOrderRequest(List.of(new OrderItemDto(i, 1L), new OrderItemDto(i + 1, 2L))));
+        }
+
+        OrderBatchResponse response = orderService.createOrders(new CreateOrderBatchRequest(requests), userId);
+
+        assertThat(response.getOrders()).hasSize(120)
+                .allSatisfy(order -> {
+                    assertThat(order.getId()).isNotNull();
+                    assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+                    assertThat(order.getItems()).hasSize(2);
+                });
+        assertThat(orderService.getAllOrdersByUserId(userId, null, 200).getOrders()).hasSize(121);
+    }
+
     @Test
     void getOrderById_success_and_cache() {
         Pageable pageable = PageRequest.of(0, 5);
@@ -128,7 +191,7 @@ public class OrderServiceIntegrationTest {
         orderService.getAllOrders(pageable);
         orderService.getAllOrders(pageable);
 
-        String cacheKey = "all_orders_page_0_size_5";
+        String cacheKey = "all_orders_page_0_size_5_sort_UNSORTED";
         assertThat(cacheManager.getCache("orders").get(cacheKey)).isNotNull();
     }
 
@@ -139,7 +202,7 @@ public class OrderServiceIntegrationTest {
         orderService.getAllOrdersByUserId(userId, pageable);
         orderService.getAllOrdersByUserId(userId, pageable);
 
-        String cacheKey = "orders_user_" + userId + "_page_0";
+        String cacheKey = "orders_user_" + userId + "_page_0_size_5_sort_UNSORTED";
         assertThat(cacheManager.getCache("orders").get(cacheKey)).isNotNull();
     }
 
@@ -150,7 +213,7 @@ public class OrderServiceIntegrationTest {
         orderService.getAllOrdersByOrderStatus(OrderStatus.CREATED, pageable);
         orderService.getAllOrdersByOrderStatus(OrderStatus.CREATED, pageable);
 
-        String cacheKey = "orders_status_CREATED_page_0";
+        String cacheKey = "orders_status_CREATED_page_0_size_5_sort_UNSORTED";
         assertThat(cacheManager.getCache("orders").get(cacheKey)).isNotNull();
     }
 
@@ -162,7 +225,111 @@ public class OrderServiceIntegrationTest {
         orderService.getAllOrdersByCreatedAtAfter(after, pageable);
         orderService.getAllOrdersByCreatedAtAfter(after, pageable);
 
-        String cacheKey = "orders_after_" + after.toEpochSecond() + "_page_0";
+        String cacheKey = "orders_after_" + after.toInstant() + "_page_0_size_5_sort_UNSORTED";
         assertThat(cacheManager.getCache("orders").get(cacheKey)).isNotNull();
     }
+
+    @Test
+    void searchOrders_filtersByStatusUserAndCreatedAtRange_and_cache() {
+        createOrder();
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        OffsetDateTime from = OffsetDateTime.now().minusDays(1);
+
+        OrderListResponse response = orderService.searchOrders(OrderStatus.CREATED, userId, from, null, pageable);
+        orderService.searchOrders(OrderStatus.CREATED, userId, from, null, pageable);
+
+        assertThat(response.getOrders()).isNotEmpty().allSatisfy(order -> {
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+            assertThat(order.getUserId()).isEqualTo(userId);
+        });
+        assertThat(orderService.searchOrders(OrderStatus.COMPLETED, userId, from, null, pageable).getOrders()).isEmpty();
+        String cacheKey = "orders_search_status_CREATED_user_" + userId + "_from_" + from.toInstant() +
+                "_to_any_page_0_size_5_sort_createdAt: DESC,id: DESC";
+        assertThat(cacheManager.getCache("orders").get(cacheKey)).isNotNull();
+    }
+
+    @Test
+    void getAllOrdersByUserId_readsPageInFixedNumberOfQueries() {
+        for (int i = 0; i < 30; i++) {
+            createOrder();
+        }
+        cacheManager.getCache("orders").clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderListResponse response = orderService.getAllOrdersByUserId(userId, PageRequest.of(0, 30));
+
+        assertThat(response.getOrders()).hasSize(30).allSatisfy(order -> {
+            assertThat(order.getUserId()).isEqualTo(userId);
+            assertThat(order.getItems()).hasSize(2);
+        });
+        // page select and count, items come with the order_view row
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void getAllOrdersByUserIdAndCursor_readsPageInFixedNumberOfQueries() {
+        for (int i = 0; i < 30; i++) {
+            createOrder();
+        }
+        cacheManager.getCache("orders").clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderCursorPageResponse response = orderService.getAllOrdersByUserId(userId, null, 30);
+
+        assertThat(response.getOrders()).hasSize(30).allSatisfy(order -> {
+            assertThat(order.getUserId()).isEqualTo(userId);
+            assertThat(order.getItems()).hasSize(2);
+        });
+        // one seek select, the page is full so the archive is not consulted
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void orderView_matchesOrdersThroughSagaAndBackfill() throws Exception {
+        Long legacyOrderId = insertOrderBypassingView();
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/v1.1/order-view-backfill.sql")).execute(dataSource);
+        assertViewMatchesOrder(legacyOrderId);
+
+        CreateOrderRequest request = new CreateOrderRequest(List.of(new OrderItemDto(1L, 5L), new OrderItemDto(2L, 5L)));
+        Long orderId = orderService.createOrder(request, userId).getId();
+        assertViewMatchesOrder(orderId);
+
+        Acknowledgment ack = mock(Acknowledgment.class);
+        String holdSuccess = objectMapper.writeValueAsString(new ProductHoldSuccessEvent(orderId, List.of(
+                new ProductHoldItemSuccess(1L, 5L, BigDecimal.ONE, BigDecimal.valueOf(5)),
+                new ProductHoldItemSuccess(2L, 5L, BigDecimal.ONE, BigDecimal.valueOf(5))), System.currentTimeMillis()));
+        productHoldProcessService.listenProductHoldSuccess(holdSuccess, ack);
+        assertViewMatchesOrder(orderId);
+
+        String paymentResult = objectMapper.writeValueAsString(
+                new PaymentResultEvent(orderId, PaymentResult.SUCCESS, System.currentTimeMillis()));
+        paymentResultProcessService.listenPaymentResult(List.of(paymentResult), ack);
+        paymentResultProcessService.processPaymentResult();
+        assertViewMatchesOrder(orderId);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM order_view WHERE id = ?", String.class, orderId))
+                .isEqualTo(OrderStatus.COMPLETED.name());
+    }
+
+    private Long insertOrderBypassingView() {
+        Long orderId = jdbcTemplate.queryForObject("SELECT nextval('order_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, status, created_at, updated_at) VALUES (?, ?, ?, now(), now())",
+                orderId, userId, OrderStatus.PENDING_PAYMENT.name());
+        jdbcTemplate.update("INSERT INTO order_items (id, product_id, quantity, order_id) VALUES (nextval('order_item_seq'), ?, ?, ?)",
+                3L, 1L, orderId);
+        return orderId;
+    }
+
+    private void assertViewMatchesOrder(Long orderId) {
+        Map<String, Object> view = jdbcTemplate.queryForMap(
+                "SELECT user_id, status, created_at, updated_at, CAST(items AS text) AS items, CAST(details AS text) AS details " +
+                        "FROM order_view WHERE id = ?", orderId);
+        Map<String, Object> order = jdbcTemplate.queryForMap(
+                "SELECT o.user_id, o.status, o.created_at, o.updated_at, " +
+                        "CAST(COALESCE((SELECT jsonb_agg(jsonb_build_object('productId', i.product_id, 'quantity', i.quantity) ORDER BY i.id) " +
+                        "FROM order_items i WHERE i.order_id = o.id), CAST('[]' AS jsonb)) AS text) AS items, " +
+                        "CAST(o.details AS text) AS details FROM orders o WHERE o.id = ?", orderId);
+        assertThat(view).isEqualTo(order);
+    }
 }
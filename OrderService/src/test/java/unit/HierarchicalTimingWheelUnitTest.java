@@ -0,0 +1,65 @@
+package unit;
+
+import org.junit.jupiter.api.Test;
+import org.kuraterut.orderservice.service.HierarchicalTimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class HierarchicalTimingWheelUnitTest {
+
+    @Test
+    void advance_expiresKeysAtTheirDeadlineTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 0);
+        wheel.schedule(1L, 3000);
+        wheel.schedule(2L, 5000);
+
+        assertThat(wheel.advance(2000)).isEmpty();
+        assertThat(wheel.advance(3000)).containsExactly(1L);
+        assertThat(wheel.advance(4999)).isEmpty();
+        assertThat(wheel.advance(5000)).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_cascadesDeadlinesFromHigherLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 0);
+        wheel.schedule(1L, 20_000);
+        wheel.schedule(2L, 100_000);
+        wheel.schedule(3L, 1_000_000);
+
+        List<Long> expired = new ArrayList<>();
+        List<Long> expiredAt = new ArrayList<>();
+        for (long now = 1000; now <= 1_000_000; now += 1000) {
+            for (Long key : wheel.advance(now)) {
+                expired.add(key);
+                expiredAt.add(now);
+            }
+        }
+
+        assertThat(expired).containsExactly(1L, 2L, 3L);
+        assertThat(expiredAt).containsExactly(20_000L, 100_000L, 1_000_000L);
+    }
+
+    @Test
+    void schedule_replacesAndCancelRemovesDeadline() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 0);
+        wheel.schedule(1L, 3000);
+        wheel.schedule(1L, 6000);
+        wheel.schedule(2L, 4000);
+        wheel.cancel(2L);
+
+        assertThat(wheel.advance(5000)).isEmpty();
+        assertThat(wheel.advance(6000)).containsExactly(1L);
+    }
+
+    @Test
+    void schedule_pastDeadline_expiresOnNextAdvance() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 10_000);
+        wheel.schedule(1L, 5000);
+
+        assertThat(wheel.advance(10_000)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,192 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.exception.model.IdempotencyConflictException;
+import org.kuraterut.orderservice.exception.model.IdempotencyKeyMismatchException;
+import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.IdempotencyService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceUnitTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private CreateOrderRequest request;
+    private OrderResponse orderResponse;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "lockTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(idempotencyService, "pollInterval", Duration.ofMillis(10));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        request = new CreateOrderRequest();
+        request.setItems(List.of(new OrderItemDto(1L, 5L)));
+        orderResponse = new OrderResponse();
+        orderResponse.setId(1L);
+        orderResponse.setStatus(OrderStatus.CREATED);
+    }
+
+    @Test
+    void execute_storedResponse_returnsItWithoutRunningAction() throws Exception {
+        String stored = stored(request);
+        when(valueOperations.get("idempotency:orders:100:key")).thenReturn(stored);
+        AtomicInteger calls = new AtomicInteger();
+
+        OrderResponse result = idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> {
+            calls.incrementAndGet();
+            return orderResponse;
+        });
+
+        assertThat(result).isEqualTo(orderResponse);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void execute_firstRequest_runsActionAndStoresResponse() throws Exception {
+        when(valueOperations.setIfAbsent("idempotency:orders:100:key", "IN_PROGRESS", Duration.ofSeconds(30))).thenReturn(true);
+
+        OrderResponse result = idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> orderResponse);
+
+        assertThat(result).isEqualTo(orderResponse);
+        String requestHash = hash(request);
+        verify(valueOperations).set(eq("idempotency:orders:100:key"), contains("\"requestHash\":\"" + requestHash + "\""),
+                eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    void execute_actionFails_releasesKeyForRetry() {
+        when(valueOperations.setIfAbsent("idempotency:orders:100:key", "IN_PROGRESS", Duration.ofSeconds(30))).thenReturn(true);
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(redisTemplate).delete("idempotency:orders:100:key");
+    }
+
+    @Test
+    void execute_inProgressElsewhere_throwsConflictAfterWaiting() {
+        when(valueOperations.setIfAbsent("idempotency:orders:100:key", "IN_PROGRESS", Duration.ofSeconds(30))).thenReturn(false);
+        when(valueOperations.get("idempotency:orders:100:key")).thenReturn("IN_PROGRESS");
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> orderResponse))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void execute_storedResponseOfDifferentBody_throwsMismatch() throws Exception {
+        CreateOrderRequest other = new CreateOrderRequest();
+        other.setItems(List.of(new OrderItemDto(2L, 1L)));
+        String stored = stored(other);
+        when(valueOperations.get("idempotency:orders:100:key")).thenReturn(stored);
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> orderResponse))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        verify(valueOperations, never()).setIfAbsent(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    void execute_duplicateOnSameReplica_waitsForInFlightRequestAndRunsActionOnce() throws Exception {
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(5));
+        when(valueOperations.setIfAbsent("idempotency:orders:100:key", "IN_PROGRESS", Duration.ofSeconds(30))).thenReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return orderResponse;
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<OrderResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> {
+                    calls.incrementAndGet();
+                    return orderResponse;
+                }));
+        verify(valueOperations, timeout(5000).times(2)).get("idempotency:orders:100:key");
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(orderResponse);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(orderResponse);
+        assertThat(calls).hasValue(1);
+        verify(valueOperations, times(1)).setIfAbsent(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    void execute_duplicateOnSameReplicaStillRunning_throwsConflictAfterWaiting() throws Exception {
+        when(valueOperations.setIfAbsent("idempotency:orders:100:key", "IN_PROGRESS", Duration.ofSeconds(30))).thenReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return orderResponse;
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> idempotencyService.execute("orders:100:key", request, OrderResponse.class, () -> orderResponse))
+                .isInstanceOf(IdempotencyConflictException.class);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(orderResponse);
+    }
+
+    private String stored(Object request) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("requestHash", hash(request),
+                "response", objectMapper.valueToTree(orderResponse)));
+    }
+
+    private String hash(Object request) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
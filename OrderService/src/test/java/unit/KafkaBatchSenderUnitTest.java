@@ -0,0 +1,60 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.event.PaymentEvent;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
+import org.kuraterut.orderservice.service.KafkaBatchSender;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaBatchSenderUnitTest {
+
+    @Mock
+    private KafkaTemplate<String, PaymentEvent> kafkaTemplate;
+
+    private KafkaBatchSender kafkaBatchSender;
+
+    @BeforeEach
+    void setUp() {
+        kafkaBatchSender = new KafkaBatchSender();
+        ReflectionTestUtils.setField(kafkaBatchSender, "sendTimeoutMs", 1000L);
+    }
+
+    @Test
+    void sendAll_returnsOnlyAcknowledgedIds() {
+        PaymentEvent first = new PaymentEvent(1L, 10L, BigDecimal.ONE, null, PaymentEventType.PAYMENT);
+        PaymentEvent second = new PaymentEvent(2L, 20L, BigDecimal.TEN, null, PaymentEventType.PAYMENT);
+        when(kafkaTemplate.send("payment-request", "10", first))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send("payment-request", "20", second))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        List<Long> sentIds = kafkaBatchSender.sendAll(kafkaTemplate, "payment-request",
+                List.of(first, second), PaymentEvent::getOrderId, event -> String.valueOf(event.getOrderId()), event -> event);
+
+        assertThat(sentIds).containsExactly(10L);
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void sendAll_emptyBatch_doesNotTouchKafka() {
+        List<Long> sentIds = kafkaBatchSender.sendAll(kafkaTemplate, "payment-request",
+                List.<PaymentEvent>of(), PaymentEvent::getOrderId, event -> String.valueOf(event.getOrderId()), event -> event);
+
+        assertThat(sentIds).isEmpty();
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
@@ -0,0 +1,59 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.repository.OrderArchiveRepository;
+import org.kuraterut.orderservice.service.OrderArchiveService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderArchiveServiceUnitTest {
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(orderArchiveService, "minAge", Duration.ofDays(30));
+        ReflectionTestUtils.setField(orderArchiveService, "batchSize", 2);
+    }
+
+    @Test
+    void archive_movesBatchesUntilShortBatch() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(orderArchiveRepository.archiveBatch(eq(OrderArchiveService.TERMINAL_STATUSES), any(OffsetDateTime.class), eq(2)))
+                .thenReturn(2, 2, 1);
+
+        orderArchiveService.archive();
+
+        verify(orderArchiveRepository, times(3)).archiveBatch(anyCollection(), any(OffsetDateTime.class), eq(2));
+    }
+
+    @Test
+    void archive_disabled_doesNothing() {
+        ReflectionTestUtils.setField(orderArchiveService, "enabled", false);
+
+        orderArchiveService.archive();
+
+        verifyNoInteractions(transactionTemplate, orderArchiveRepository);
+    }
+}
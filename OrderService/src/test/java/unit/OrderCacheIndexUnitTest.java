@@ -0,0 +1,74 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.OrderCacheIndex;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderCacheIndexUnitTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @InjectMocks
+    private OrderCacheIndex orderCacheIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+    }
+
+    @Test
+    void register_indexesKeysByUserStatusOrGlobal() {
+        orderCacheIndex.register("orders_user_7_page_0_size_10_sort_UNSORTED");
+        orderCacheIndex.register("orders_status_PAYMENT_FAILED_NOT_FOUND_user_7_page_1_size_10_sort_UNSORTED");
+        orderCacheIndex.register("orders_status_PAYMENT_FAILED_NOT_FOUND_page_2_size_10_sort_id: ASC");
+        orderCacheIndex.register("orders_search_status_CREATED_user_any_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        orderCacheIndex.register("orders_search_status_any_user_7_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        orderCacheIndex.register("orders_search_status_any_user_any_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        orderCacheIndex.register("all_orders_page_0_size_5_sort_UNSORTED");
+        orderCacheIndex.register("order_by_id_42");
+
+        verify(setOperations).add("orders:index:user:7", "orders_user_7_page_0_size_10_sort_UNSORTED");
+        verify(setOperations).add("orders:index:user:7",
+                "orders_status_PAYMENT_FAILED_NOT_FOUND_user_7_page_1_size_10_sort_UNSORTED");
+        verify(setOperations).add("orders:index:status:PAYMENT_FAILED_NOT_FOUND",
+                "orders_status_PAYMENT_FAILED_NOT_FOUND_page_2_size_10_sort_id: ASC");
+        verify(setOperations).add("orders:index:status:CREATED",
+                "orders_search_status_CREATED_user_any_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        verify(setOperations).add("orders:index:user:7",
+                "orders_search_status_any_user_7_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        verify(setOperations).add("orders:index:global",
+                "orders_search_status_any_user_any_from_any_to_any_page_0_size_10_sort_UNSORTED");
+        verify(setOperations).add("orders:index:global", "all_orders_page_0_size_5_sort_UNSORTED");
+        verifyNoMoreInteractions(setOperations);
+    }
+
+    @Test
+    void drain_returnsOnlyKeysOfAffectedUserAndStatuses() {
+        when(setOperations.members(anyString())).thenReturn(Set.of());
+        when(setOperations.members("orders:index:user:7")).thenReturn(Set.of("orders_user_7_page_0"));
+        when(setOperations.members("orders:index:status:CREATED")).thenReturn(Set.of("orders_status_CREATED_page_0"));
+
+        Set<String> keys = orderCacheIndex.drain(7L, OrderStatus.CREATED, OrderStatus.PENDING_PAYMENT);
+
+        assertThat(keys).containsExactlyInAnyOrder("orders_user_7_page_0", "orders_status_CREATED_page_0");
+        verify(setOperations).remove("orders:index:user:7", "orders_user_7_page_0");
+        verify(setOperations, never()).members("orders:index:user:8");
+    }
+}
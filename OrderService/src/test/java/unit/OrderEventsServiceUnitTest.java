@@ -0,0 +1,101 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderViewRepository;
+import org.kuraterut.orderservice.service.OrderEventsService;
+import org.kuraterut.orderservice.usecases.GetOrderUseCase;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderEventsServiceUnitTest {
+
+    @Mock
+    private GetOrderUseCase getOrderUseCase;
+    @Mock
+    private OrderViewRepository orderViewRepository;
+    @Spy
+    private OrderMapper orderMapper = new OrderMapper();
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OrderEventsService orderEventsService;
+
+    private OrderResponse orderResponse;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderEventsService, "sseTimeoutMs", 1000L);
+        orderResponse = new OrderResponse();
+        orderResponse.setId(1L);
+        orderResponse.setUserId(100L);
+    }
+
+    @Test
+    void subscribe_orderOfAnotherUser_throwsAccessDenied() {
+        orderResponse.setStatus(OrderStatus.CREATED);
+        when(getOrderUseCase.getOrderById(1L)).thenReturn(orderResponse);
+
+        assertThatThrownBy(() -> orderEventsService.subscribe(1L, 200L))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void subscribe_finalStatus_isNotRegisteredForUpdates() {
+        orderResponse.setStatus(OrderStatus.COMPLETED);
+        when(getOrderUseCase.getOrderById(1L)).thenReturn(orderResponse);
+
+        assertThat(orderEventsService.subscribe(1L, 100L)).isNotNull();
+
+        verify(getOrderUseCase, times(1)).getOrderById(1L);
+    }
+
+    @Test
+    void subscribe_activeOrder_reReadsStatusFromViewBypassingCache() {
+        orderResponse.setStatus(OrderStatus.CREATED);
+        when(getOrderUseCase.getOrderById(1L)).thenReturn(orderResponse);
+        OffsetDateTime now = OffsetDateTime.now();
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.of(
+                new OrderView(1L, 100L, OrderStatus.COMPLETED, now, now, List.of(), null)));
+
+        assertThat(orderEventsService.subscribe(1L, 100L)).isNotNull();
+
+        verify(getOrderUseCase, times(1)).getOrderById(1L);
+        verify(orderViewRepository).findById(1L);
+    }
+
+    @Test
+    void publishStatusChange_withoutTransaction_publishesToOrderChannel() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(OrderStatus.PAYMENT_FAILED_NOT_ENOUGH_MONEY);
+
+        orderEventsService.publishStatusChange(order);
+
+        verify(redisTemplate).convertAndSend(eq("order-status:1"), contains("PAYMENT_FAILED_NOT_ENOUGH_MONEY"));
+    }
+}
@@ -0,0 +1,100 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.OrderExportService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExportServiceUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private ResultSet resultSet;
+
+    @InjectMocks
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderExportService, "fetchSize", 500);
+    }
+
+    @Test
+    void exportOrders_writesOneJsonObjectPerLine() throws Exception {
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 12, 3, 10, 15, 30, 0, ZoneOffset.UTC);
+        when(resultSet.getLong("id")).thenReturn(1L, 2L);
+        when(resultSet.getLong("user_id")).thenReturn(100L);
+        when(resultSet.getString("status")).thenReturn("COMPLETED", "PRODUCT_RESERVATION_FAILED");
+        when(resultSet.getObject("created_at", OffsetDateTime.class)).thenReturn(createdAt);
+        when(resultSet.getObject("updated_at", OffsetDateTime.class)).thenReturn(createdAt);
+        when(resultSet.getString("items")).thenReturn("[{\"productId\": 1, \"quantity\": 2}]");
+        when(resultSet.getString("details")).thenReturn(null, "[{\"productId\": 1, \"quantity\": 2, \"reason\": \"NOT_FOUND\"}]");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderExportService.exportOrders(null, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(objectMapper.readTree(lines[0]).get("details").isEmpty()).isTrue();
+        assertThat(objectMapper.readTree(lines[1]).get("items").get(0).get("quantity").asLong()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines[1]).get("createdAt").asText()).isEqualTo(createdAt.toString());
+    }
+
+    @Test
+    void exportOrders_appliesFiltersToHotAndArchivedOrders() throws Exception {
+        OffsetDateTime from = OffsetDateTime.now().minusDays(30);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+
+        orderExportService.exportOrders(from, null, OrderStatus.COMPLETED, new ByteArrayOutputStream());
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        creator.getValue().createPreparedStatement(connection);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture(), anyInt(), anyInt());
+        assertThat(sql.getValue()).containsSubsequence(
+                "FROM order_view o WHERE o.created_at >= ? AND o.status = ?",
+                "FROM orders_archive o WHERE o.created_at >= ? AND o.status = ?");
+        verify(statement).setFetchSize(500);
+        verify(statement).setObject(1, from);
+        verify(statement).setObject(2, "COMPLETED");
+        verify(statement).setObject(3, from);
+        verify(statement).setObject(4, "COMPLETED");
+    }
+}
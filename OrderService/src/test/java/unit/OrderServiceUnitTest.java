@@ -4,21 +4,42 @@ package unit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.dto.request.CreateOrderBatchRequest;
 import org.kuraterut.orderservice.dto.request.CreateOrderRequest;
+import org.kuraterut.orderservice.dto.response.OrderBatchResponse;
+import org.kuraterut.orderservice.dto.response.OrderCursorPageResponse;
 import org.kuraterut.orderservice.dto.response.OrderListResponse;
 import org.kuraterut.orderservice.dto.response.OrderResponse;
+import org.kuraterut.orderservice.exception.model.InvalidCursorException;
 import org.kuraterut.orderservice.exception.model.OrderNotFoundException;
 import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.ArchivedOrder;
 import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.entity.OrderView;
+import org.kuraterut.orderservice.model.event.OrderCreatedEvent;
+import org.kuraterut.orderservice.model.event.dto.OrderItemDto;
 import org.kuraterut.orderservice.model.event.outbox.CreateOrderEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderCursor;
 import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderArchiveRepository;
 import org.kuraterut.orderservice.repository.OrderOutboxRepository;
 import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.OrderViewRepository;
+import org.kuraterut.orderservice.service.KafkaBatchSender;
+import org.kuraterut.orderservice.service.OrderCacheInvalidator;
 import org.kuraterut.orderservice.service.OrderService;
+import org.kuraterut.orderservice.service.OrderStatsService;
+import org.kuraterut.orderservice.service.OrderViewProjector;
+import org.kuraterut.orderservice.service.OutboxMetrics;
+import org.kuraterut.orderservice.service.SagaDeadlineRegistry;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,18 +53,35 @@ public class OrderServiceUnitTest {
     @Mock
     private OrderRepository orderRepository;
     @Mock
+    private OrderViewRepository orderViewRepository;
+    @Mock
+    private OrderViewProjector orderViewProjector;
+    @Mock
     private OrderOutboxRepository orderOutboxRepository;
     @Mock
     private OrderMapper orderMapper;
+    @Mock
+    private KafkaBatchSender kafkaBatchSender;
+    @Mock
+    private OrderCacheInvalidator orderCacheInvalidator;
+    @Mock
+    private SagaDeadlineRegistry sagaDeadlineRegistry;
+    @Mock
+    private OrderStatsService orderStatsService;
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+    @Mock
+    private OutboxMetrics outboxMetrics;
 
     @Mock
-    private org.springframework.kafka.core.KafkaTemplate<String, ?> kafkaTemplate;
+    private KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
 
     @InjectMocks
     private OrderService orderService;
 
     private CreateOrderRequest request;
     private Order order;
+    private OrderView view;
     private OrderResponse orderResponse;
     private CreateOrderEventOutbox outbox;
 
@@ -54,10 +92,15 @@ public class OrderServiceUnitTest {
         order.setId(1L);
         order.setStatus(OrderStatus.CREATED);
 
+        view = new OrderView();
+        view.setId(1L);
+        view.setStatus(OrderStatus.CREATED);
+
         orderResponse = new OrderResponse();
         orderResponse.setId(1L);
 
         outbox = new CreateOrderEventOutbox();
+        ReflectionTestUtils.setField(orderService, "archiveMinAge", Duration.ofDays(30));
     }
 
     @Test
@@ -74,15 +117,47 @@ public class OrderServiceUnitTest {
 
         verify(orderRepository).saveAndFlush(order);
         verify(orderOutboxRepository).save(outbox);
+        verify(orderCacheInvalidator).evictOrder(1L, 100L, OrderStatus.CREATED);
+        verify(sagaDeadlineRegistry).track(order);
+        verify(orderStatsService).recordTransition(order, null);
+        verify(orderViewProjector).created(List.of(order));
+    }
+
+    @Test
+    void createOrders_savesAllOrdersAndOutboxesInOneBatch() {
+        CreateOrderRequest secondRequest = new CreateOrderRequest(List.of(new OrderItemDto(2L, 1L)));
+        Order secondOrder = new Order();
+        secondOrder.setId(2L);
+        OrderResponse secondResponse = new OrderResponse();
+        secondResponse.setId(2L);
+        CreateOrderEventOutbox secondOutbox = new CreateOrderEventOutbox();
+
+        when(orderMapper.toEntity(request, 100L)).thenReturn(order);
+        when(orderMapper.toEntity(secondRequest, 100L)).thenReturn(secondOrder);
+        when(orderRepository.saveAll(List.of(order, secondOrder))).thenReturn(List.of(order, secondOrder));
+        when(orderMapper.toOutbox(order)).thenReturn(outbox);
+        when(orderMapper.toOutbox(secondOrder)).thenReturn(secondOutbox);
+        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderMapper.toResponse(secondOrder)).thenReturn(secondResponse);
+
+        OrderBatchResponse result = orderService.createOrders(
+                new CreateOrderBatchRequest(List.of(request, secondRequest)), 100L);
+
+        assertThat(result.getOrders()).containsExactly(orderResponse, secondResponse);
+        assertThat(secondOrder.getStatus()).isEqualTo(OrderStatus.CREATED);
+        verify(orderOutboxRepository).saveAll(List.of(outbox, secondOutbox));
+        verify(orderRepository).flush();
+        verify(orderCacheInvalidator).evictOrder(null, 100L, OrderStatus.CREATED);
+        verify(orderViewProjector).created(List.of(order, secondOrder));
     }
 
     @Test
     void getAllOrders_success() {
         Pageable pageable = PageRequest.of(0, 5);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAll(pageable)).thenReturn(orders);
+        when(orderViewRepository.findAll(pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrders(pageable);
@@ -92,8 +167,8 @@ public class OrderServiceUnitTest {
 
     @Test
     void getOrderById_found() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.of(view));
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
 
         OrderResponse result = orderService.getOrderById(1L);
 
@@ -102,19 +177,33 @@ public class OrderServiceUnitTest {
 
     @Test
     void getOrderById_notFound() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(1L))
                 .isInstanceOf(OrderNotFoundException.class);
     }
 
+    @Test
+    void getOrderById_archived_fallsThroughToArchive() {
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        archivedOrder.setId(1L);
+        when(orderViewRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(1L)).thenReturn(Optional.of(archivedOrder));
+        when(orderMapper.toView(archivedOrder)).thenReturn(view);
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
+
+        OrderResponse result = orderService.getOrderById(1L);
+
+        assertThat(result).isEqualTo(orderResponse);
+    }
+
     @Test
     void getAllOrdersByUserId_success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAllByUserId(100L, pageable)).thenReturn(orders);
+        when(orderViewRepository.findAllByUserId(100L, pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrdersByUserId(100L, pageable);
@@ -125,10 +214,10 @@ public class OrderServiceUnitTest {
     @Test
     void getAllOrdersByOrderStatus_success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAllByStatus(OrderStatus.CREATED, pageable)).thenReturn(orders);
+        when(orderViewRepository.findAllByStatus(OrderStatus.CREATED, pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrdersByOrderStatus(OrderStatus.CREATED, pageable);
@@ -139,10 +228,10 @@ public class OrderServiceUnitTest {
     @Test
     void getAllOrdersByOrderStatusAndUserId_success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAllByStatusAndUserId(OrderStatus.CREATED, 100L, pageable)).thenReturn(orders);
+        when(orderViewRepository.findAllByStatusAndUserId(OrderStatus.CREATED, 100L, pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrdersByOrderStatus(OrderStatus.CREATED, 100L, pageable);
@@ -154,10 +243,10 @@ public class OrderServiceUnitTest {
     void getAllOrdersByCreatedAtAfter_success() {
         Pageable pageable = PageRequest.of(0, 10);
         OffsetDateTime after = OffsetDateTime.now().minusDays(1);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAllByCreatedAtAfter(after, pageable)).thenReturn(orders);
+        when(orderViewRepository.findAllByCreatedAtAfter(after, pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrdersByCreatedAtAfter(after, pageable);
@@ -169,14 +258,139 @@ public class OrderServiceUnitTest {
     void getAllOrdersByCreatedAtAfterAndUserId_success() {
         Pageable pageable = PageRequest.of(0, 10);
         OffsetDateTime after = OffsetDateTime.now().minusDays(1);
-        Page<Order> orders = new PageImpl<>(List.of(order));
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
         OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
 
-        when(orderRepository.findAllByCreatedAtAfterAndUserId(after, 100L, pageable)).thenReturn(orders);
+        when(orderViewRepository.findAllByCreatedAtAfterAndUserId(after, 100L, pageable)).thenReturn(orders);
         when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
 
         OrderListResponse result = orderService.getAllOrdersByCreatedAtAfter(after, 100L, pageable);
 
         assertThat(result).isEqualTo(expectedResponse);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchOrders_success() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        OffsetDateTime from = OffsetDateTime.now().minusDays(1);
+        Page<OrderView> orders = new PageImpl<>(List.of(view));
+        OrderListResponse expectedResponse = new OrderListResponse(List.of(orderResponse));
+
+        when(orderViewRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(orders);
+        when(orderMapper.toResponses(orders)).thenReturn(expectedResponse);
+
+        OrderListResponse result = orderService.searchOrders(OrderStatus.COMPLETED, 100L, from, null, pageable);
+
+        assertThat(result).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    void getAllOrdersByCursor_firstPage_returnsNextCursorOfLastOrder() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-06-01T10:15:30.123456Z");
+        view.setCreatedAt(createdAt);
+        OrderView older = new OrderView();
+        older.setId(0L);
+        older.setCreatedAt(createdAt.minusSeconds(1));
+
+        when(orderViewRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(view, older));
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
+
+        OrderCursorPageResponse result = orderService.getAllOrders(null, 1);
+
+        assertThat(result.getOrders()).containsExactly(orderResponse);
+        assertThat(OrderCursor.decode(result.getNextCursor())).isEqualTo(new OrderCursor(createdAt, 1L));
+    }
+
+    @Test
+    void getAllOrdersByUserIdAndCursor_lastPage_seeksAfterCursorWithoutNextCursor() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-06-01T10:15:30Z");
+        String after = new OrderCursor(createdAt, 5L).encode();
+
+        when(orderViewRepository.findPageBeforeByUserId(100L, createdAt, 5L, Limit.of(11))).thenReturn(List.of(view));
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
+
+        OrderCursorPageResponse result = orderService.getAllOrdersByUserId(100L, after, 10);
+
+        assertThat(result.getOrders()).containsExactly(orderResponse);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllOrdersByCursor_recentFullPage_skipsArchive() {
+        view.setCreatedAt(OffsetDateTime.now());
+        OrderView older = new OrderView();
+        older.setId(0L);
+        older.setCreatedAt(OffsetDateTime.now().minusDays(1));
+
+        when(orderViewRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(view, older));
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
+
+        orderService.getAllOrders(null, 1);
+
+        verifyNoInteractions(orderArchiveRepository);
+    }
+
+    @Test
+    void getAllOrdersByUserIdAndCursor_oldPage_mergesArchivedOrdersNewestFirst() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-06-01T10:15:30Z");
+        String after = new OrderCursor(createdAt, 5L).encode();
+        view.setCreatedAt(createdAt.minusDays(2));
+        OrderView hotOlder = new OrderView();
+        hotOlder.setId(2L);
+        hotOlder.setCreatedAt(createdAt.minusDays(4));
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        OrderView archived = new OrderView();
+        archived.setId(3L);
+        archived.setCreatedAt(createdAt.minusDays(3));
+        OrderResponse archivedResponse = new OrderResponse();
+        archivedResponse.setId(3L);
+
+        when(orderViewRepository.findPageBeforeByUserId(100L, createdAt, 5L, Limit.of(3))).thenReturn(List.of(view, hotOlder));
+        when(orderArchiveRepository.findPageBeforeByUserId(100L, createdAt, 5L, Limit.of(3)))
+                .thenReturn(List.of(archivedOrder));
+        when(orderMapper.toView(archivedOrder)).thenReturn(archived);
+        when(orderMapper.toResponse(view)).thenReturn(orderResponse);
+        when(orderMapper.toResponse(archived)).thenReturn(archivedResponse);
+
+        OrderCursorPageResponse result = orderService.getAllOrdersByUserId(100L, after, 2);
+
+        assertThat(result.getOrders()).containsExactly(orderResponse, archivedResponse);
+        assertThat(OrderCursor.decode(result.getNextCursor())).isEqualTo(new OrderCursor(createdAt.minusDays(3), 3L));
+    }
+
+    @Test
+    void getAllOrdersByCursor_malformedCursor_throws() {
+        assertThatThrownBy(() -> orderService.getAllOrders("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(orderViewRepository);
+    }
+
+    @Test
+    void processCreateOrderEvent_sendsOutboxPayload() {
+        OrderCreatedEvent payload = new OrderCreatedEvent(1L, 100L, List.of(new OrderItemDto(1L, 2L)), null);
+        outbox.setId(10L);
+        outbox.setOrderId(1L);
+        outbox.setPayload(payload);
+
+        List<CreateOrderEventOutbox> outboxes = List.of(outbox);
+        when(orderOutboxRepository.findTop100UnprocessedForUpdate()).thenReturn(outboxes);
+        when(kafkaBatchSender.sendAll(eq(kafkaTemplate), any(), eq(outboxes), any(), any(), any())).thenReturn(List.of(10L));
+
+        orderService.processCreateOrderEvent();
+
+        verify(orderOutboxRepository).markAllAsProcessed(List.of(10L));
+        verify(outboxMetrics).recordTick(eq(OutboxMetrics.ORDERS_OUTBOX), eq(1), anyLong());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void processCreateOrderEvent_nothingSent_doesNotMarkProcessed() {
+        when(orderOutboxRepository.findTop100UnprocessedForUpdate()).thenReturn(List.of(outbox));
+        when(kafkaBatchSender.sendAll(eq(kafkaTemplate), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        orderService.processCreateOrderEvent();
+
+        verify(orderOutboxRepository, never()).markAllAsProcessed(any());
+    }
+}
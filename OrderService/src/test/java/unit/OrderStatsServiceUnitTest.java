@@ -0,0 +1,155 @@
+package unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.dto.response.OrderStatsResponse;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatsRow;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.service.OrderStatsService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatsServiceUnitTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private RedisOperations<String, String> redisOperations;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private OrderStatsService orderStatsService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordTransition_movesCountBetweenStatusesOfEveryRollup() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setCreatedAt(OffsetDateTime.of(2025, 12, 3, 23, 30, 0, 0, ZoneOffset.ofHours(-2)));
+        when(redisOperations.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(redisOperations);
+            return null;
+        });
+
+        orderStatsService.recordTransition(order, OrderStatus.PENDING_PAYMENT);
+
+        for (String key : new String[]{"order-stats:total", "order-stats:day:2025-12-04", "order-stats:user:100"}) {
+            verify(hashOperations).increment(key, "PENDING_PAYMENT", -1L);
+            verify(hashOperations).increment(key, "COMPLETED", 1L);
+        }
+    }
+
+    @Test
+    void getStats_fillsMissingStatusesWithZero() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(anyString())).thenReturn(Map.of());
+        when(hashOperations.entries("order-stats:total")).thenReturn(Map.of("COMPLETED", "7"));
+
+        OrderStatsResponse stats = orderStatsService.getStats(LocalDate.of(2025, 12, 3), null);
+
+        assertThat(stats.getTotal()).hasSize(OrderStatus.values().length)
+                .containsEntry(OrderStatus.COMPLETED, 7L)
+                .containsEntry(OrderStatus.CREATED, 0L);
+        assertThat(stats.getDaily()).containsEntry(OrderStatus.COMPLETED, 0L);
+        assertThat(stats.getUser()).isEmpty();
+        verify(hashOperations).entries("order-stats:day:2025-12-03");
+    }
+
+    @Test
+    void rebuildIfMissing_alreadyInitialized_skipsDatabase() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("order-stats:initialized", "1")).thenReturn(false);
+
+        orderStatsService.rebuildIfMissing();
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildIfMissing_buildsEveryHashUnderPrivateKeyAndRenamesItIntoPlace() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("order-stats:initialized", "1")).thenReturn(true);
+        when(orderRepository.countByStatus()).thenReturn(List.of(row("total", "COMPLETED", 7L)));
+        when(orderRepository.countByDayAndStatus()).thenReturn(List.of(row("2025-12-03", "COMPLETED", 2L)));
+        when(orderRepository.streamCountByUserAndStatus()).thenReturn(Stream.of(row("100", "CREATED", 1L)));
+        when(redisOperations.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(redisOperations);
+            return null;
+        });
+
+        orderStatsService.rebuildIfMissing();
+
+        ArgumentCaptor<String> buildKey = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(hashOperations, redisOperations);
+        inOrder.verify(hashOperations).putAll(buildKey.capture(), eq(Map.of("COMPLETED", "7")));
+        inOrder.verify(redisOperations).rename(buildKey.getValue(), "order-stats:total");
+        assertThat(buildKey.getValue()).startsWith("order-stats:rebuild:").endsWith(":order-stats:total");
+        verify(redisOperations).rename(endsWith(":order-stats:day:2025-12-03"), eq("order-stats:day:2025-12-03"));
+        verify(redisOperations).rename(endsWith(":order-stats:user:100"), eq("order-stats:user:100"));
+        verify(hashOperations, never()).putAll(eq("order-stats:total"), any());
+    }
+
+    @Test
+    void reconcile_heldByAnotherReplica_skipsDatabase() {
+        ReflectionTestUtils.setField(orderStatsService, "reconcileLockTtl", Duration.ofMinutes(10));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("order-stats:reconcile-lock", "1", Duration.ofMinutes(10))).thenReturn(false);
+
+        orderStatsService.reconcile();
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static OrderStatsRow row(String bucket, String status, Long total) {
+        return new OrderStatsRow() {
+            @Override
+            public String getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
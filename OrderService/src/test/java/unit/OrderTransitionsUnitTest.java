@@ -0,0 +1,61 @@
+package unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.OrderCacheInvalidator;
+import org.kuraterut.orderservice.service.OrderEventsService;
+import org.kuraterut.orderservice.service.OrderStatsService;
+import org.kuraterut.orderservice.service.OrderTransitions;
+import org.kuraterut.orderservice.service.OrderViewProjector;
+import org.kuraterut.orderservice.service.SagaDeadlineRegistry;
+import org.kuraterut.orderservice.service.SagaMetrics;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderTransitionsUnitTest {
+
+    @Mock
+    private OrderCacheInvalidator orderCacheInvalidator;
+    @Mock
+    private OrderEventsService orderEventsService;
+    @Mock
+    private SagaDeadlineRegistry sagaDeadlineRegistry;
+    @Mock
+    private OrderStatsService orderStatsService;
+    @Mock
+    private SagaMetrics sagaMetrics;
+    @Mock
+    private OrderViewProjector orderViewProjector;
+
+    @InjectMocks
+    private OrderTransitions orderTransitions;
+
+    @Test
+    void onTransition_runsEveryHookAndProjectsLast() {
+        OffsetDateTime previousUpdatedAt = OffsetDateTime.now().minusMinutes(1);
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        order.setStatus(OrderStatus.COMPLETED);
+
+        orderTransitions.onTransition(order, OrderStatus.PENDING_PAYMENT, previousUpdatedAt);
+
+        InOrder inOrder = inOrder(orderCacheInvalidator, orderEventsService, sagaDeadlineRegistry, orderStatsService,
+                sagaMetrics, orderViewProjector);
+        inOrder.verify(orderCacheInvalidator).evictOrder(1L, 100L, OrderStatus.PENDING_PAYMENT, OrderStatus.COMPLETED);
+        inOrder.verify(orderEventsService).publishStatusChange(order);
+        inOrder.verify(sagaDeadlineRegistry).track(order);
+        inOrder.verify(orderStatsService).recordTransition(order, OrderStatus.PENDING_PAYMENT);
+        inOrder.verify(sagaMetrics).recordTransition(order, OrderStatus.PENDING_PAYMENT, previousUpdatedAt);
+        inOrder.verify(orderViewProjector).changed(order);
+    }
+}
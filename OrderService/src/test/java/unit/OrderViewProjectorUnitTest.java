@@ -0,0 +1,96 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.mapper.OrderMapper;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.entity.OrderItem;
+import org.kuraterut.orderservice.model.event.dto.ProductHoldItemFailed;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.ProductHoldItemFailedReason;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.service.OrderViewProjector;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderViewProjectorUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private OrderMapper orderMapper = new OrderMapper();
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private PreparedStatement statement;
+
+    @InjectMocks
+    private OrderViewProjector orderViewProjector;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void created_insertsOneRowPerOrderWithSerializedItems() throws Exception {
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 12, 3, 10, 15, 30, 0, ZoneOffset.UTC);
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(createdAt);
+        OrderItem item = new OrderItem();
+        item.setProductId(7L);
+        item.setQuantity(2L);
+        order.setItems(List.of(item));
+
+        orderViewProjector.created(List.of(order));
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Order>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO order_view"), eq(List.of(order)), eq(1), setter.capture());
+        setter.getValue().setValues(statement, order);
+        verify(statement).setLong(1, 1L);
+        verify(statement).setLong(2, 100L);
+        verify(statement).setString(3, "CREATED");
+        verify(statement).setObject(4, createdAt);
+        verify(statement).setString(6, "[{\"productId\":7,\"quantity\":2}]");
+        verify(statement).setString(7, null);
+    }
+
+    @Test
+    void changed_flushesBeforeRewritingStatusAndDetails() {
+        OffsetDateTime updatedAt = OffsetDateTime.of(2025, 12, 3, 10, 20, 0, 0, ZoneOffset.UTC);
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(OrderStatus.PRODUCT_RESERVATION_FAILED);
+        order.setUpdatedAt(updatedAt);
+        order.setDetails(List.of(new ProductHoldItemFailed(7L, 2L, ProductHoldItemFailedReason.NOT_FOUND)));
+
+        orderViewProjector.changed(order);
+
+        InOrder inOrder = inOrder(orderRepository, jdbcTemplate);
+        inOrder.verify(orderRepository).flush();
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE order_view"), args.capture(), args.capture(),
+                args.capture(), args.capture());
+        assertThat(args.getAllValues()).containsExactly("PRODUCT_RESERVATION_FAILED", updatedAt,
+                "[{\"productId\":7,\"quantity\":2,\"reason\":\"NOT_FOUND\"}]", 1L);
+    }
+}
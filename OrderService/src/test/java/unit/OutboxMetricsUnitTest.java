@@ -0,0 +1,67 @@
+package unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.service.OutboxMetrics;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxMetricsUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxMetrics outboxMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxMetrics = new OutboxMetrics(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxMetrics, "pendingCap", 1000);
+    }
+
+    @Test
+    void refreshBacklog_publishesCappedCountAndOldestAgePerTable() throws Exception {
+        when(resultSet.getLong("pending")).thenReturn(42L);
+        when(resultSet.getObject("oldest", OffsetDateTime.class)).thenReturn(OffsetDateTime.now().minusMinutes(5));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1000));
+
+        outboxMetrics.refreshBacklog();
+
+        assertThat(meterRegistry.get("outbox.pending.rows").tag("table", OutboxMetrics.ORDERS_OUTBOX).gauge().value())
+                .isEqualTo(42);
+        assertThat(meterRegistry.get("outbox.pending.oldest.age").tag("table", OutboxMetrics.PAYMENT_RESULT_INBOX)
+                .timeGauge().value(TimeUnit.MINUTES)).isGreaterThanOrEqualTo(5);
+        verify(jdbcTemplate).query(contains("FROM orders_outbox WHERE processed = false LIMIT ?"), any(RowCallbackHandler.class), eq(1000));
+    }
+
+    @Test
+    void recordTick_countsProcessedRowsAndTickDuration() {
+        outboxMetrics.recordTick(OutboxMetrics.ORDERS_OUTBOX, 7, System.nanoTime());
+        outboxMetrics.recordTick(OutboxMetrics.ORDERS_OUTBOX, 0, System.nanoTime());
+
+        assertThat(meterRegistry.get("outbox.relay.processed").tag("table", OutboxMetrics.ORDERS_OUTBOX).counter().count())
+                .isEqualTo(7);
+        assertThat(meterRegistry.get("outbox.relay.tick").tag("table", OutboxMetrics.ORDERS_OUTBOX).timer().count())
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,63 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.service.InboxDeduplicator;
+import org.kuraterut.orderservice.service.OutboxPartitionMaintenanceService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxPartitionMaintenanceServiceUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private InboxDeduplicator inboxDeduplicator;
+
+    @InjectMocks
+    private OutboxPartitionMaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintenanceService, "daysAhead", 7);
+        ReflectionTestUtils.setField(maintenanceService, "retentionDays", 3);
+        ReflectionTestUtils.setField(maintenanceService, "archive", true);
+    }
+
+    @Test
+    void maintainPartitions_createsAndRetiresPartitionsOfEveryTable() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(0);
+
+        maintenanceService.maintainPartitions();
+
+        verify(jdbcTemplate).queryForObject("SELECT create_daily_partitions(?, ?)", Integer.class, "orders_outbox", 7);
+        verify(jdbcTemplate).queryForObject("SELECT drop_processed_partitions(?, ?, ?, CAST(? AS TEXT))",
+                Integer.class, "payment_result_inbox", 3, true, null);
+        verify(jdbcTemplate, times(8)).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+        verify(inboxDeduplicator).purgeOlderThan(3);
+    }
+
+    @Test
+    void maintainPartitions_failureOnOneTable_continuesWithOthers() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject("SELECT create_daily_partitions(?, ?)", Integer.class, "orders_outbox", 7))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        maintenanceService.maintainPartitions();
+
+        verify(jdbcTemplate, never()).queryForObject("SELECT drop_processed_partitions(?, ?, ?, CAST(? AS TEXT))",
+                Integer.class, "orders_outbox", 3, true, null);
+        verify(jdbcTemplate).queryForObject("SELECT drop_processed_partitions(?, ?, ?, CAST(? AS TEXT))",
+                Integer.class, "payment_event_outbox", 3, true, null);
+        verify(inboxDeduplicator).purgeOlderThan(3);
+    }
+}
@@ -0,0 +1,159 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.event.PaymentResultEvent;
+import org.kuraterut.orderservice.model.event.inbox.PaymentResultInbox;
+import org.kuraterut.orderservice.model.event.outbox.PaymentEventOutbox;
+import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
+import org.kuraterut.orderservice.model.utils.PaymentResult;
+import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.PaymentEventOutboxRepository;
+import org.kuraterut.orderservice.repository.PaymentResultInboxRepository;
+import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
+import org.kuraterut.orderservice.service.InboxDeduplicator;
+import org.kuraterut.orderservice.service.OrderTransitions;
+import org.kuraterut.orderservice.service.OutboxMetrics;
+import org.kuraterut.orderservice.service.PaymentResultProcessService;
+import org.kuraterut.orderservice.service.SagaMetrics;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentResultProcessServiceUnitTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private PaymentResultInboxRepository paymentResultInboxRepository;
+    @Mock
+    private ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private PaymentEventOutboxRepository paymentEventOutboxRepository;
+    @Mock
+    private OrderTransitions orderTransitions;
+    @Mock
+    private InboxDeduplicator inboxDeduplicator;
+    @Mock
+    private SagaMetrics sagaMetrics;
+    @Mock
+    private OutboxMetrics outboxMetrics;
+    @Mock
+    private Acknowledgment ack;
+
+    @InjectMocks
+    private PaymentResultProcessService paymentResultProcessService;
+
+    private Order order;
+    private String message;
+    private final OffsetDateTime updatedAt = OffsetDateTime.now().minusMinutes(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(paymentResultProcessService, "directProcessing", true);
+        order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        order.setUpdatedAt(updatedAt);
+        message = objectMapper.writeValueAsString(new PaymentResultEvent(1L, PaymentResult.SUCCESS, null));
+    }
+
+    @Test
+    void listenPaymentResult_directMode_appliesTransitionWithoutInboxRow() {
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(inboxDeduplicator.markHandled(1L, InboxDeduplicator.PAYMENT_RESULT)).thenReturn(true);
+
+        paymentResultProcessService.listenPaymentResult(List.of(message), ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        ArgumentCaptor<ProductHoldRemoveEventOutbox> outbox = ArgumentCaptor.forClass(ProductHoldRemoveEventOutbox.class);
+        verify(productHoldRemoveEventOutboxRepository).save(outbox.capture());
+        assertThat(outbox.getValue().getDetails()).isEqualTo(ProductHoldRemoveEventDetails.TO_REMOVE);
+        verify(paymentResultInboxRepository).saveAll(List.of());
+        verify(orderTransitions).onTransition(order, OrderStatus.PENDING_PAYMENT, updatedAt);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void listenPaymentResult_directModeRedelivery_skipsTransition() {
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(inboxDeduplicator.markHandled(1L, InboxDeduplicator.PAYMENT_RESULT)).thenReturn(false);
+
+        paymentResultProcessService.listenPaymentResult(List.of(message), ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_PAYMENT);
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(productHoldRemoveEventOutboxRepository);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void listenPaymentResult_lateSuccessAfterTimeout_requestsRefundWithoutTransition() {
+        order.setStatus(OrderStatus.PAYMENT_TIMEOUT);
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(inboxDeduplicator.markHandled(1L, InboxDeduplicator.PAYMENT_RESULT)).thenReturn(true);
+
+        paymentResultProcessService.listenPaymentResult(List.of(message), ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_TIMEOUT);
+        ArgumentCaptor<PaymentEventOutbox> refund = ArgumentCaptor.forClass(PaymentEventOutbox.class);
+        verify(paymentEventOutboxRepository).save(refund.capture());
+        assertThat(refund.getValue().getType()).isEqualTo(PaymentEventType.REFUND);
+        assertThat(refund.getValue().getOrderId()).isEqualTo(1L);
+        assertThat(refund.getValue().getUserId()).isEqualTo(100L);
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(productHoldRemoveEventOutboxRepository, orderTransitions);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void listenPaymentResult_pollingMode_storesInboxRow() {
+        ReflectionTestUtils.setField(paymentResultProcessService, "directProcessing", false);
+
+        paymentResultProcessService.listenPaymentResult(List.of(message), ack);
+
+        ArgumentCaptor<List<PaymentResultInbox>> inboxes = ArgumentCaptor.forClass(List.class);
+        verify(paymentResultInboxRepository).saveAll(inboxes.capture());
+        assertThat(inboxes.getValue()).singleElement()
+                .satisfies(inbox -> assertThat(inbox.isProcessed()).isFalse());
+        verifyNoInteractions(orderRepository, inboxDeduplicator);
+    }
+
+    @Test
+    void processPaymentResult_alreadyHandled_marksInboxProcessed() {
+        PaymentResultInbox inbox = new PaymentResultInbox();
+        inbox.setOrderId(1L);
+        inbox.setResult(PaymentResult.SUCCESS);
+        inbox.setProcessed(false);
+        when(paymentResultInboxRepository.findTop100UnprocessedForUpdate()).thenReturn(List.of(inbox));
+        when(inboxDeduplicator.markHandled(1L, InboxDeduplicator.PAYMENT_RESULT)).thenReturn(false);
+
+        paymentResultProcessService.processPaymentResult();
+
+        assertThat(inbox.isProcessed()).isTrue();
+        verify(paymentResultInboxRepository).save(inbox);
+        verifyNoInteractions(orderRepository);
+    }
+}
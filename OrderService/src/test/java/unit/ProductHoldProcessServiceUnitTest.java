@@ -0,0 +1,112 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.event.ProductHoldSuccessEvent;
+import org.kuraterut.orderservice.model.event.dto.ProductHoldItemSuccess;
+import org.kuraterut.orderservice.model.event.outbox.PaymentEventOutbox;
+import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.PaymentEventType;
+import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.PaymentEventOutboxRepository;
+import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
+import org.kuraterut.orderservice.service.OrderTransitions;
+import org.kuraterut.orderservice.service.ProductHoldProcessService;
+import org.kuraterut.orderservice.service.SagaMetrics;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductHoldProcessServiceUnitTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private PaymentEventOutboxRepository paymentEventOutboxRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private OrderTransitions orderTransitions;
+    @Mock
+    private SagaMetrics sagaMetrics;
+    @Mock
+    private ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
+    @Mock
+    private Acknowledgment ack;
+
+    @InjectMocks
+    private ProductHoldProcessService productHoldProcessService;
+
+    private Order order;
+    private String message;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        order.setStatus(OrderStatus.CREATED);
+        ProductHoldItemSuccess item = new ProductHoldItemSuccess(7L, 2L, BigDecimal.TEN, BigDecimal.valueOf(20));
+        message = objectMapper.writeValueAsString(new ProductHoldSuccessEvent(1L, List.of(item), null));
+    }
+
+    @Test
+    void listenProductHoldSuccess_locksOrderAndRequestsPayment() {
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+
+        productHoldProcessService.listenProductHoldSuccess(message, ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_PAYMENT);
+        ArgumentCaptor<PaymentEventOutbox> outbox = ArgumentCaptor.forClass(PaymentEventOutbox.class);
+        verify(paymentEventOutboxRepository).save(outbox.capture());
+        assertThat(outbox.getValue().getAmount()).isEqualByComparingTo("20");
+        assertThat(outbox.getValue().getType()).isEqualTo(PaymentEventType.PAYMENT);
+        verify(orderRepository, never()).findById(any());
+        verify(orderTransitions).onTransition(order, OrderStatus.CREATED, null);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void listenProductHoldSuccess_orderAlreadyTimedOut_returnsHoldWithoutTransition() {
+        order.setStatus(OrderStatus.PAYMENT_TIMEOUT);
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+
+        productHoldProcessService.listenProductHoldSuccess(message, ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_TIMEOUT);
+        ArgumentCaptor<ProductHoldRemoveEventOutbox> outbox = ArgumentCaptor.forClass(ProductHoldRemoveEventOutbox.class);
+        verify(productHoldRemoveEventOutboxRepository).save(outbox.capture());
+        assertThat(outbox.getValue().getDetails()).isEqualTo(ProductHoldRemoveEventDetails.TO_RETURN);
+        verifyNoInteractions(paymentEventOutboxRepository, orderTransitions);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void listenProductHoldSuccess_redeliveredToPendingPaymentOrder_isIgnored() {
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+
+        productHoldProcessService.listenProductHoldSuccess(message, ack);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_PAYMENT);
+        verifyNoInteractions(productHoldRemoveEventOutboxRepository, paymentEventOutboxRepository, orderTransitions);
+        verify(ack).acknowledge();
+    }
+}
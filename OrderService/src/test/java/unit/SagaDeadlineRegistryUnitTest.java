@@ -0,0 +1,72 @@
+package unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.SagaDeadlineRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SagaDeadlineRegistryUnitTest {
+
+    private SagaDeadlineRegistry sagaDeadlineRegistry;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        sagaDeadlineRegistry = new SagaDeadlineRegistry();
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "createdTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "pendingPaymentTimeout", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "retryDelay", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "tick", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "wheelSize", 64);
+        ReflectionTestUtils.setField(sagaDeadlineRegistry, "levels", 4);
+        ReflectionTestUtils.invokeMethod(sagaDeadlineRegistry, "init");
+        order = new Order();
+        order.setId(1L);
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void track_withoutTransaction_schedulesImmediately() {
+        sagaDeadlineRegistry.track(order);
+
+        assertThat(sagaDeadlineRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void track_inTransaction_schedulesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        sagaDeadlineRegistry.track(order);
+
+        assertThat(sagaDeadlineRegistry.size()).isZero();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(sagaDeadlineRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void track_rolledBack_leavesDeadlineUntouched() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        sagaDeadlineRegistry.track(order);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(sagaDeadlineRegistry.size()).isZero();
+    }
+}
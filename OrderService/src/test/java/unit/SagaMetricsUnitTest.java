@@ -0,0 +1,86 @@
+package unit;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.service.SagaMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SagaMetricsUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SagaMetrics sagaMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sagaMetrics = new SagaMetrics(meterRegistry);
+    }
+
+    @Test
+    void recordHop_recordsLatencySinceEventCreation() {
+        sagaMetrics.recordHop("payment-result", System.currentTimeMillis() - 5_000);
+        sagaMetrics.recordHop("payment-result", null);
+
+        Timer timer = meterRegistry.get(SagaMetrics.HOP_LATENCY).tag("event", "payment-result").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5_000);
+    }
+
+    @Test
+    void recordTransition_recordsStageAndSagaDurationOnFinalStatus() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        sagaMetrics.recordTransition(OrderStatus.PENDING_PAYMENT, OrderStatus.COMPLETED,
+                now.minusSeconds(2), now.minusSeconds(10));
+
+        assertThat(meterRegistry.get(SagaMetrics.STAGE_DURATION).tag("stage", "PENDING_PAYMENT").timer()
+                .totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get(SagaMetrics.SAGA_DURATION).tag("outcome", "COMPLETED").timer()
+                .totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void recordTransition_intermediateStatus_skipsSagaDuration() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        sagaMetrics.recordTransition(OrderStatus.CREATED, OrderStatus.PENDING_PAYMENT, now, now);
+
+        assertThat(meterRegistry.find(SagaMetrics.STAGE_DURATION).tag("stage", "CREATED").timer()).isNotNull();
+        assertThat(meterRegistry.find(SagaMetrics.SAGA_DURATION).timer()).isNull();
+    }
+
+    @Test
+    void recordTransition_ofOrder_usesPreviousUpdatedAtAndRecordsAfterCommit() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Order order = new Order();
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setCreatedAt(now.minusSeconds(10));
+        order.setUpdatedAt(now);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sagaMetrics.recordTransition(order, OrderStatus.PENDING_PAYMENT, now.minusSeconds(4));
+            order.setUpdatedAt(now.plusSeconds(1));
+            assertThat(meterRegistry.find(SagaMetrics.STAGE_DURATION).timer()).isNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(meterRegistry.get(SagaMetrics.STAGE_DURATION).tag("stage", "PENDING_PAYMENT").timer()
+                .totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(4);
+        assertThat(meterRegistry.get(SagaMetrics.SAGA_DURATION).tag("outcome", "COMPLETED").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.model.entity.Order;
+import org.kuraterut.orderservice.model.event.outbox.ProductHoldRemoveEventOutbox;
+import org.kuraterut.orderservice.model.utils.OrderStatus;
+import org.kuraterut.orderservice.model.utils.ProductHoldRemoveEventDetails;
+import org.kuraterut.orderservice.repository.OrderRepository;
+import org.kuraterut.orderservice.repository.ProductHoldRemoveEventOutboxRepository;
+import org.kuraterut.orderservice.service.OrderTransitions;
+import org.kuraterut.orderservice.service.SagaDeadlineRegistry;
+import org.kuraterut.orderservice.service.SagaTimeoutSweeper;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SagaTimeoutSweeperUnitTest {
+
+    @Mock
+    private SagaDeadlineRegistry sagaDeadlineRegistry;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ProductHoldRemoveEventOutboxRepository productHoldRemoveEventOutboxRepository;
+    @Mock
+    private OrderTransitions orderTransitions;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SagaTimeoutSweeper sagaTimeoutSweeper;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        order.setId(1L);
+        order.setUserId(100L);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(sagaDeadlineRegistry.expired(anyLong())).thenReturn(List.of(1L));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void sweep_pendingPaymentPastDeadline_timesOutAndReturnsHold() {
+        OffsetDateTime updatedAt = OffsetDateTime.now().minusMinutes(20);
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        order.setUpdatedAt(updatedAt);
+        when(sagaDeadlineRegistry.timeoutOf(OrderStatus.PENDING_PAYMENT)).thenReturn(Duration.ofMinutes(15));
+
+        sagaTimeoutSweeper.sweep();
+
+        ArgumentCaptor<ProductHoldRemoveEventOutbox> outbox = ArgumentCaptor.forClass(ProductHoldRemoveEventOutbox.class);
+        verify(productHoldRemoveEventOutboxRepository).save(outbox.capture());
+        assertThat(outbox.getValue().getDetails()).isEqualTo(ProductHoldRemoveEventDetails.TO_RETURN);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_TIMEOUT);
+        verify(orderTransitions).onTransition(order, OrderStatus.PENDING_PAYMENT, updatedAt);
+    }
+
+    @Test
+    void sweep_statusChangedSinceRegistration_reschedulesWithoutCompensation() {
+        OffsetDateTime updatedAt = OffsetDateTime.now().minusMinutes(1);
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        order.setUpdatedAt(updatedAt);
+        when(sagaDeadlineRegistry.timeoutOf(OrderStatus.PENDING_PAYMENT)).thenReturn(Duration.ofMinutes(15));
+
+        sagaTimeoutSweeper.sweep();
+
+        verify(sagaDeadlineRegistry).track(1L, OrderStatus.PENDING_PAYMENT, updatedAt);
+        verifyNoInteractions(productHoldRemoveEventOutboxRepository);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING_PAYMENT);
+    }
+
+    @Test
+    void sweep_finalStatus_isIgnored() {
+        order.setStatus(OrderStatus.COMPLETED);
+
+        sagaTimeoutSweeper.sweep();
+
+        verifyNoInteractions(productHoldRemoveEventOutboxRepository);
+        verify(orderRepository, never()).save(any());
+    }
+}
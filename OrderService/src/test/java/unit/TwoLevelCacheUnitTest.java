@@ -0,0 +1,70 @@
+package unit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.orderservice.config.TwoLevelCache;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TwoLevelCacheUnitTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCache remoteCache;
+    private MeterRegistry meterRegistry;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache("orders");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache(Caffeine.newBuilder().maximumSize(100).build(), remoteCache, redisTemplate, meterRegistry);
+    }
+
+    @Test
+    void get_servesFromLocalTierAfterFirstRemoteHit() {
+        remoteCache.put("order_by_id_1", "order");
+
+        assertThat(cache.get("order_by_id_1").get()).isEqualTo("order");
+        remoteCache.evict("order_by_id_1");
+        assertThat(cache.get("order_by_id_1").get()).isEqualTo("order");
+
+        assertThat(count("l2", "hit")).isEqualTo(1);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void evict_dropsBothTiersAndPublishesInvalidation() {
+        cache.put("order_by_id_1", "order");
+
+        cache.evict("order_by_id_1");
+
+        assertThat(cache.get("order_by_id_1")).isNull();
+        verify(redisTemplate).convertAndSend("cache-invalidation:orders", "order_by_id_1");
+    }
+
+    @Test
+    void invalidateLocal_keepsRemoteEntry() {
+        cache.put("order_by_id_1", "order");
+
+        cache.invalidateLocal("order_by_id_1");
+
+        assertThat(cache.get("order_by_id_1").get()).isEqualTo("order");
+        assertThat(count("l1", "miss")).isEqualTo(1);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.near.requests").tag("tier", tier).tag("result", result).counter().count();
+    }
+}
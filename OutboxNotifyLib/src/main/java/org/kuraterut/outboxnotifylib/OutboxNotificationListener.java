@@ -0,0 +1,155 @@
+package org.kuraterut.outboxnotifylib;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle() throws Exception;
+    }
+
+    private final DataSource dataSource;
+    private final Map<String, Handler> handlers;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private final Map<String, AtomicBoolean> pendingWakeups = new ConcurrentHashMap<>();
+    private volatile ExecutorService handlerExecutor;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public OutboxNotificationListener(DataSource dataSource, Map<String, Handler> handlers,
+                                      int pollTimeoutMs, long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.handlers = handlers;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        handlers.keySet().forEach(channel -> pendingWakeups.put(channel, new AtomicBoolean()));
+    }
+
+    @Override
+    public void start() {
+        // stop() shuts the executor down, so every start gets a fresh one
+        handlerExecutor = Executors.newFixedThreadPool(handlers.size());
+        pendingWakeups.values().forEach(pending -> pending.set(false));
+        running = true;
+        listenerThread = new Thread(this::listen, "outbox-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        ExecutorService executor = handlerExecutor;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(pollTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try {
+                    receive(connection);
+                } finally {
+                    unlisten(connection);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox notification connection lost, reconnecting in {} ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String channel : handlers.keySet()) {
+                statement.execute("LISTEN " + channel);
+            }
+        }
+        log.info("Listening for outbox notifications on channels {}", handlers.keySet());
+        handlers.keySet().forEach(this::wakeUp);
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                wakeUp(notification.getName());
+            }
+        }
+    }
+
+    // The connection goes back to the pool, so the next borrower must not inherit the subscriptions or queued notifications
+    private void unlisten(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+            connection.unwrap(PGConnection.class).getNotifications();
+        } catch (SQLException e) {
+            log.debug("Failed to unlisten outbox notification channels: {}", e.getMessage());
+        }
+    }
+
+    private void wakeUp(String channel) {
+        Handler handler = handlers.get(channel);
+        AtomicBoolean pending = pendingWakeups.get(channel);
+        if (handler == null || !pending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            handlerExecutor.execute(() -> {
+                pending.set(false);
+                try {
+                    handler.handle();
+                } catch (Exception e) {
+                    log.error("Failed to process outbox notification for channel {}", channel, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.set(false);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.outboxnotifylib.OutboxNotificationListener;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class OutboxNotificationListenerUnitTest {
+    private static final String CHANNEL = "orders_outbox";
+    private static final String OTHER_CHANNEL = "payment_result_inbox";
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Connection reconnected;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PGConnection pgConnection;
+    @Mock
+    private PGConnection reconnectedPgConnection;
+    @Mock
+    private PGNotification notification;
+
+    private final Semaphore channelRuns = new Semaphore(0);
+    private final Semaphore otherChannelRuns = new Semaphore(0);
+    private OutboxNotificationListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connection.createStatement()).thenReturn(statement);
+        when(reconnected.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(reconnected.unwrap(PGConnection.class)).thenReturn(reconnectedPgConnection);
+        when(notification.getName()).thenReturn(CHANNEL);
+        listener = new OutboxNotificationListener(dataSource,
+                Map.of(CHANNEL, channelRuns::release, OTHER_CHANNEL, otherChannelRuns::release), 10, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void start_drainsEveryChannelOnceAsFallbackPollAfterListen() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(pgConnection.getNotifications(10)).thenAnswer(invocation -> idle());
+
+        listener.start();
+
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherChannelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        verify(statement).execute("LISTEN " + CHANNEL);
+        verify(statement).execute("LISTEN " + OTHER_CHANNEL);
+        assertThat(channelRuns.tryAcquire(100, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void notification_wakesOnlyItsChannelHandler() throws Exception {
+        CountDownLatch drained = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(pgConnection.getNotifications(10))
+                .thenAnswer(invocation -> {
+                    drained.await(5, TimeUnit.SECONDS);
+                    return new PGNotification[]{notification};
+                })
+                .thenAnswer(invocation -> idle());
+
+        listener.start();
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherChannelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        drained.countDown();
+
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherChannelRuns.tryAcquire(100, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void droppedConnection_reconnectsListensAgainAndDrains() throws Exception {
+        CountDownLatch drained = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenReturn(connection, reconnected);
+        when(pgConnection.getNotifications(10)).thenAnswer(invocation -> {
+            drained.await(5, TimeUnit.SECONDS);
+            throw new SQLException("connection reset");
+        });
+        when(reconnectedPgConnection.getNotifications(10)).thenAnswer(invocation -> idle());
+
+        listener.start();
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        drained.countDown();
+
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        verify(connection).close();
+        verify(statement, times(2)).execute("LISTEN " + CHANNEL);
+        verify(reconnectedPgConnection, timeout(5000).atLeastOnce()).getNotifications(10);
+    }
+
+    @Test
+    void restartAfterStop_drainsAgainWithFreshExecutor() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(pgConnection.getNotifications(10)).thenAnswer(invocation -> idle());
+        listener.start();
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+
+        listener.stop();
+        listener.start();
+
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.isRunning()).isTrue();
+    }
+
+    @Test
+    void stop_unlistensBeforeConnectionReturnsToPool() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(pgConnection.getNotifications(10)).thenAnswer(invocation -> idle());
+        listener.start();
+        assertThat(channelRuns.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+
+        listener.stop();
+
+        verify(connection, timeout(5000)).close();
+        InOrder inOrder = inOrder(statement, pgConnection, connection);
+        inOrder.verify(statement).execute("UNLISTEN *");
+        inOrder.verify(pgConnection).getNotifications();
+        inOrder.verify(connection).close();
+    }
+
+    private PGNotification[] idle() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package org.kuraterut.paymentservice.config;
+
+import org.kuraterut.outboxnotifylib.OutboxNotificationListener;
+import org.kuraterut.paymentservice.usecases.eventprocessing.PaymentProcessUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "outbox.notify.enabled", havingValue = "true")
+public class OutboxNotifyConfig {
+
+    @Value("${outbox.notify.poll-timeout-ms}")
+    private int pollTimeoutMs;
+
+    @Value("${outbox.notify.reconnect-delay-ms}")
+    private long reconnectDelayMs;
+
+    @Bean
+    public OutboxNotificationListener outboxNotificationListener(DataSource dataSource,
+                                                                 PaymentProcessUseCase paymentProcessUseCase) {
+        Map<String, OutboxNotificationListener.Handler> handlers = Map.of(
+                "payment_event_inbox", paymentProcessUseCase::processPaymentEvent,
+                "payment_result_outbox", paymentProcessUseCase::processPaymentResult
+        );
+        return new OutboxNotificationListener(dataSource, handlers, pollTimeoutMs, reconnectDelayMs);
+    }
+}
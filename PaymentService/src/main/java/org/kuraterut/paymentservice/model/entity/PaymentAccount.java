@@ -20,7 +20,7 @@ import java.util.List;
 public class PaymentAccount {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_account_seq")
-    @SequenceGenerator(name = "payment_account_seq", sequenceName = "payment_account_seq", allocationSize = 1)
+    @SequenceGenerator(name = "payment_account_seq", sequenceName = "payment_account_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
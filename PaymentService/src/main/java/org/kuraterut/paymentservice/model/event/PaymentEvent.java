@@ -3,6 +3,7 @@ package org.kuraterut.paymentservice.model.event;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.kuraterut.paymentservice.model.utils.PaymentEventType;
 
 import java.math.BigDecimal;
 
@@ -13,4 +14,6 @@ public class PaymentEvent {
     private Long userId;
     private Long orderId;
     private BigDecimal amount;
+    private Long createdAt;
+    private PaymentEventType type;
 }
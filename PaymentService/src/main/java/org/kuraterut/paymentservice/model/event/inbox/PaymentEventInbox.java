@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.kuraterut.paymentservice.model.utils.PaymentEventType;
 
 import java.math.BigDecimal;
 
@@ -15,15 +16,18 @@ import java.math.BigDecimal;
 public class PaymentEventInbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_event_inbox_seq")
-    @SequenceGenerator(name = "payment_event_inbox_seq", sequenceName = "payment_event_inbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "payment_event_inbox_seq", sequenceName = "payment_event_inbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
     @Column(name = "order_id", nullable = false)
     private Long orderId;
-    @Column(name = "amount", nullable = false)
+    @Column(name = "amount")
     private BigDecimal amount;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private PaymentEventType type;
     @Column(name = "processed", nullable = false)
     private boolean processed;
 }
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.kuraterut.paymentservice.model.utils.PaymentResult;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @Table(name = "payment_result_outbox")
 @Data
@@ -14,7 +16,7 @@ import org.kuraterut.paymentservice.model.utils.PaymentResult;
 public class PaymentResultEventOutbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_result_event_outbox_seq")
-    @SequenceGenerator(name = "payment_result_event_outbox_seq", sequenceName = "payment_result_event_outbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "payment_result_event_outbox_seq", sequenceName = "payment_result_event_outbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -25,4 +27,7 @@ public class PaymentResultEventOutbox {
     private PaymentResult result;
 
     private boolean processed;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
 }
@@ -0,0 +1,6 @@
+package org.kuraterut.paymentservice.model.utils;
+
+public enum PaymentEventType {
+    PAYMENT,
+    REFUND
+}
@@ -2,11 +2,14 @@ package org.kuraterut.paymentservice.repository;
 
 import org.kuraterut.paymentservice.model.event.inbox.PaymentEventInbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PaymentEventInboxRepository extends JpaRepository<PaymentEventInbox, Long> {
-    List<PaymentEventInbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM payment_event_inbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PaymentEventInbox> findTop100UnprocessedForUpdate();
 }
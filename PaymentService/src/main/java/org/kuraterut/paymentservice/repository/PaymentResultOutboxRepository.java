@@ -2,11 +2,21 @@ package org.kuraterut.paymentservice.repository;
 
 import org.kuraterut.paymentservice.model.event.outbox.PaymentResultEventOutbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PaymentResultOutboxRepository extends JpaRepository<PaymentResultEventOutbox, Long> {
-    List<PaymentResultEventOutbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM payment_result_outbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PaymentResultEventOutbox> findTop100UnprocessedForUpdate();
+
+    @Modifying
+    @Query("UPDATE PaymentResultEventOutbox o SET o.processed = true WHERE o.id IN :ids")
+    int markAllAsProcessed(@Param("ids") Collection<Long> ids);
 }
@@ -27,4 +27,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     Page<Transaction> findAllByAccountIdAndOrderId(Long accountId, Long orderId, Pageable pageable);
     Page<Transaction> findAllByOrderId(Long orderId, Pageable pageable);
+
+    Optional<Transaction> findFirstByOrderIdAndTypeAndStatus(Long orderId, TransactionType type, TransactionStatus status);
+    boolean existsByOrderIdAndType(Long orderId, TransactionType type);
 }
@@ -0,0 +1,58 @@
+package org.kuraterut.paymentservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class KafkaBatchSender {
+
+    @Value("${outbox.relay.send-timeout-ms}")
+    private long sendTimeoutMs;
+
+    public <T, V> List<Long> sendAll(KafkaTemplate<String, V> kafkaTemplate, String topic, List<T> rows,
+                                     Function<T, Long> idExtractor, Function<T, String> keyExtractor,
+                                     Function<T, V> eventMapper) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CompletableFuture<SendResult<String, V>>> futures = new LinkedHashMap<>();
+        for (T row : rows) {
+            futures.put(idExtractor.apply(row), kafkaTemplate.send(topic, keyExtractor.apply(row), eventMapper.apply(row)));
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Not all records were acknowledged by topic {}: {}", topic, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for acknowledgements from topic {}", topic);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        futures.forEach((id, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                sentIds.add(id);
+            } else {
+                log.error("Failed to send outbox with id: {} to topic {}", id, topic);
+            }
+        });
+        return sentIds;
+    }
+}
@@ -0,0 +1,60 @@
+package org.kuraterut.paymentservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPartitionMaintenanceService {
+    private static final List<PartitionedTable> PARTITIONED_TABLES = List.of(
+            new PartitionedTable("payment_event_inbox", Optional.empty()),
+            new PartitionedTable("payment_result_outbox", Optional.empty())
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${outbox.partitions.days-ahead}")
+    private int daysAhead;
+
+    @Value("${outbox.partitions.retention-days}")
+    private int retentionDays;
+
+    @Value("${outbox.partitions.archive}")
+    private boolean archive;
+
+    @Scheduled(cron = "${outbox.partitions.maintenance-cron}")
+    public void maintainPartitions() {
+        for (PartitionedTable table : PARTITIONED_TABLES) {
+            try {
+                createPartitions(table.name());
+                table.dependent().ifPresent(this::createPartitions);
+                Integer removed = jdbcTemplate.queryForObject("SELECT drop_processed_partitions(?, ?, ?, CAST(? AS TEXT))",
+                        Integer.class, table.name(), retentionDays, archive, table.dependent().orElse(null));
+                if (removed != null && removed > 0) {
+                    log.info("{} {} processed partitions of {}", archive ? "Archived" : "Dropped", removed, table.name());
+                }
+            } catch (Exception e) {
+                log.error("Failed to maintain partitions of {}", table.name(), e);
+            }
+        }
+    }
+
+    // dependent: a table partitioned in lockstep with the parent whose partitions are retired together with it
+    private record PartitionedTable(String name, Optional<String> dependent) {
+    }
+
+    private void createPartitions(String table) {
+        Integer created = jdbcTemplate.queryForObject("SELECT create_daily_partitions(?, ?)", Integer.class, table, daysAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} partitions of {}", created, table);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.kuraterut.paymentservice.model.entity.PaymentAccount;
 import org.kuraterut.paymentservice.model.entity.Transaction;
 import org.kuraterut.paymentservice.model.event.inbox.PaymentEventInbox;
 import org.kuraterut.paymentservice.model.event.outbox.PaymentResultEventOutbox;
+import org.kuraterut.paymentservice.model.utils.PaymentEventType;
 import org.kuraterut.paymentservice.model.utils.PaymentResult;
 import org.kuraterut.paymentservice.model.utils.TransactionStatus;
 import org.kuraterut.paymentservice.model.utils.TransactionType;
@@ -29,9 +30,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
 
 @Service
 @Slf4j
@@ -44,21 +45,36 @@ public class PaymentProcessService implements PaymentProcessUseCase {
     private final PaymentResultOutboxRepository paymentResultOutboxRepository;
     private final TransactionRepository transactionRepository;
     private final KafkaTemplate<String, PaymentResultEvent> paymentResultEventKafkaTemplate;
+    private final KafkaBatchSender kafkaBatchSender;
+    private final SagaMetrics sagaMetrics;
+    private final OutboxMetrics outboxMetrics;
 
     @Value("${kafka-topics.payment-result}")
     private String paymentResultTopic;
 
     @Override
-    @KafkaListener(topics = "${kafka-topics.payment-request}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.payment-request}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.payment-request}",
+            containerFactory = "batchKafkaListenerContainerFactory")
     @Transactional
-    public void listenPaymentEvent(String message, Acknowledgment ack) throws JsonProcessingException {
-        PaymentEvent event = objectMapper.readValue(message, PaymentEvent.class);
-        PaymentEventInbox inbox = new PaymentEventInbox();
-        inbox.setProcessed(false);
-        inbox.setOrderId(event.getOrderId());
-        inbox.setUserId(event.getUserId());
-        inbox.setAmount(event.getAmount());
-        paymentEventInboxRepository.save(inbox);
+    public void listenPaymentEvent(List<String> messages, Acknowledgment ack) {
+        List<PaymentEventInbox> inboxes = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                PaymentEvent event = objectMapper.readValue(message, PaymentEvent.class);
+                sagaMetrics.recordHop("payment-request", event.getCreatedAt());
+                PaymentEventInbox inbox = new PaymentEventInbox();
+                inbox.setProcessed(false);
+                inbox.setOrderId(event.getOrderId());
+                inbox.setUserId(event.getUserId());
+                inbox.setAmount(event.getAmount());
+                inbox.setType(event.getType() != null ? event.getType() : PaymentEventType.PAYMENT);
+                inboxes.add(inbox);
+            } catch (JsonProcessingException e) {
+                log.error("Skipping malformed payment event: {}", e.getMessage());
+            }
+        }
+        paymentEventInboxRepository.saveAll(inboxes);
         ack.acknowledge();
     }
 
@@ -70,8 +86,15 @@ public class PaymentProcessService implements PaymentProcessUseCase {
             @CacheEvict(cacheNames = "transactions", allEntries = true)
     })
     public void processPaymentEvent() {
-        List<PaymentEventInbox> inboxes = paymentEventInboxRepository.findTop100ByProcessedIsFalse();
+        long start = System.nanoTime();
+        List<PaymentEventInbox> inboxes = paymentEventInboxRepository.findTop100UnprocessedForUpdate();
         for (PaymentEventInbox inbox : inboxes) {
+            if (inbox.getType() == PaymentEventType.REFUND) {
+                refund(inbox);
+                inbox.setProcessed(true);
+                paymentEventInboxRepository.save(inbox);
+                continue;
+            }
             BigDecimal amount = inbox.getAmount();
             Long userId = inbox.getUserId();
 
@@ -112,21 +135,49 @@ public class PaymentProcessService implements PaymentProcessUseCase {
             inbox.setProcessed(true);
             paymentEventInboxRepository.save(inbox);
         }
+        outboxMetrics.recordTick(OutboxMetrics.PAYMENT_EVENT_INBOX, inboxes.size(), start);
+    }
+
+    // refunds exactly what the order was charged, so a redelivered request or one without a charge is a no-op
+    private void refund(PaymentEventInbox inbox) {
+        Optional<Transaction> payment = transactionRepository.findFirstByOrderIdAndTypeAndStatus(inbox.getOrderId(),
+                TransactionType.PAYMENT, TransactionStatus.COMPLETED);
+        if (payment.isEmpty() || transactionRepository.existsByOrderIdAndType(inbox.getOrderId(), TransactionType.REFUND)) {
+            log.warn("Skipping refund of order {}: no completed payment or already refunded", inbox.getOrderId());
+            return;
+        }
+        Transaction charge = payment.get();
+        paymentAccountRepository.depositPaymentAccountByUserId(inbox.getUserId(), charge.getAmount());
+
+        Transaction transaction = new Transaction();
+        transaction.setAmount(charge.getAmount());
+        transaction.setAccount(charge.getAccount());
+        transaction.setType(TransactionType.REFUND);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setOrderId(inbox.getOrderId());
+        transactionRepository.save(transaction);
     }
 
     @Override
     @Transactional
     @Scheduled(fixedRateString = "${scheduling.process-payment-result-rate}")
-    public void processPaymentResult() throws ExecutionException, InterruptedException {
-        List<PaymentResultEventOutbox> outboxes = paymentResultOutboxRepository.findTop100ByProcessedIsFalse();
-        for (PaymentResultEventOutbox outbox : outboxes) {
-            PaymentResultEvent event = new PaymentResultEvent();
-            event.setOrderId(outbox.getOrderId());
-            event.setResult(outbox.getResult());
-            paymentResultEventKafkaTemplate.send(paymentResultTopic, event).get();
-            outbox.setProcessed(true);
-            paymentResultOutboxRepository.save(outbox);
+    public void processPaymentResult() {
+        long start = System.nanoTime();
+        List<PaymentResultEventOutbox> outboxes = paymentResultOutboxRepository.findTop100UnprocessedForUpdate();
+        List<Long> sentIds = kafkaBatchSender.sendAll(paymentResultEventKafkaTemplate, paymentResultTopic,
+                outboxes, PaymentResultEventOutbox::getId, outbox -> String.valueOf(outbox.getOrderId()), this::toEvent);
+        if (!sentIds.isEmpty()) {
+            paymentResultOutboxRepository.markAllAsProcessed(sentIds);
         }
+        outboxMetrics.recordTick(OutboxMetrics.PAYMENT_RESULT_OUTBOX, sentIds.size(), start);
+    }
+
+    private PaymentResultEvent toEvent(PaymentResultEventOutbox outbox) {
+        PaymentResultEvent event = new PaymentResultEvent();
+        event.setOrderId(outbox.getOrderId());
+        event.setResult(outbox.getResult());
+        event.setCreatedAt(outbox.getCreatedAt() != null ? outbox.getCreatedAt().toInstant().toEpochMilli() : null);
+        return event;
     }
 
 }
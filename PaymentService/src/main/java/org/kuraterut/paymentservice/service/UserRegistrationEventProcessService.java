@@ -24,7 +24,8 @@ public class UserRegistrationEventProcessService implements UserRegistrationEven
     private final PaymentAccountRepository paymentAccountRepository;
 
     @Override
-    @KafkaListener(topics = "${kafka-topics.user-registration}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.user-registration}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.user-registration}")
     @Transactional
     @CacheEvict(cacheNames = "payment_accounts", allEntries = true)
     public void listenUserRegistrationEvent(String message, Acknowledgment ack) throws JsonProcessingException {
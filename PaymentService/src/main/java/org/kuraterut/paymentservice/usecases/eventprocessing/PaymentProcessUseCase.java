@@ -1,12 +1,11 @@
 package org.kuraterut.paymentservice.usecases.eventprocessing;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.kafka.support.Acknowledgment;
 
-import java.util.concurrent.ExecutionException;
+import java.util.List;
 
 public interface PaymentProcessUseCase {
-    void listenPaymentEvent(String message, Acknowledgment ack) throws JsonProcessingException;
+    void listenPaymentEvent(List<String> messages, Acknowledgment ack);
     void processPaymentEvent();
-    void processPaymentResult() throws ExecutionException, InterruptedException;
+    void processPaymentResult();
 }
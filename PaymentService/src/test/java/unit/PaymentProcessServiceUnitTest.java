@@ -0,0 +1,117 @@
+package unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kuraterut.paymentservice.model.entity.PaymentAccount;
+import org.kuraterut.paymentservice.model.entity.Transaction;
+import org.kuraterut.paymentservice.model.event.PaymentResultEvent;
+import org.kuraterut.paymentservice.model.event.inbox.PaymentEventInbox;
+import org.kuraterut.paymentservice.model.utils.PaymentEventType;
+import org.kuraterut.paymentservice.model.utils.TransactionStatus;
+import org.kuraterut.paymentservice.model.utils.TransactionType;
+import org.kuraterut.paymentservice.repository.PaymentAccountRepository;
+import org.kuraterut.paymentservice.repository.PaymentEventInboxRepository;
+import org.kuraterut.paymentservice.repository.PaymentResultOutboxRepository;
+import org.kuraterut.paymentservice.repository.TransactionRepository;
+import org.kuraterut.paymentservice.service.KafkaBatchSender;
+import org.kuraterut.paymentservice.service.OutboxMetrics;
+import org.kuraterut.paymentservice.service.PaymentProcessService;
+import org.kuraterut.paymentservice.service.SagaMetrics;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentProcessServiceUnitTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private PaymentAccountRepository paymentAccountRepository;
+    @Mock
+    private PaymentEventInboxRepository paymentEventInboxRepository;
+    @Mock
+    private PaymentResultOutboxRepository paymentResultOutboxRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private KafkaTemplate<String, PaymentResultEvent> paymentResultEventKafkaTemplate;
+    @Mock
+    private KafkaBatchSender kafkaBatchSender;
+    @Mock
+    private SagaMetrics sagaMetrics;
+    @Mock
+    private OutboxMetrics outboxMetrics;
+
+    @InjectMocks
+    private PaymentProcessService paymentProcessService;
+
+    private PaymentEventInbox refundRequest;
+    private Transaction charge;
+
+    @BeforeEach
+    void setUp() {
+        refundRequest = new PaymentEventInbox();
+        refundRequest.setId(1L);
+        refundRequest.setOrderId(10L);
+        refundRequest.setUserId(100L);
+        refundRequest.setType(PaymentEventType.REFUND);
+
+        PaymentAccount account = new PaymentAccount();
+        account.setId(5L);
+        account.setUserId(100L);
+        charge = new Transaction();
+        charge.setAccount(account);
+        charge.setAmount(BigDecimal.valueOf(250));
+        charge.setType(TransactionType.PAYMENT);
+        charge.setStatus(TransactionStatus.COMPLETED);
+        charge.setOrderId(10L);
+    }
+
+    @Test
+    void processPaymentEvent_refund_depositsChargedAmountAndRecordsRefund() {
+        when(paymentEventInboxRepository.findTop100UnprocessedForUpdate()).thenReturn(List.of(refundRequest));
+        when(transactionRepository.findFirstByOrderIdAndTypeAndStatus(10L, TransactionType.PAYMENT, TransactionStatus.COMPLETED))
+                .thenReturn(Optional.of(charge));
+        when(transactionRepository.existsByOrderIdAndType(10L, TransactionType.REFUND)).thenReturn(false);
+
+        paymentProcessService.processPaymentEvent();
+
+        verify(paymentAccountRepository).depositPaymentAccountByUserId(100L, BigDecimal.valueOf(250));
+        ArgumentCaptor<Transaction> refund = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(refund.capture());
+        assertThat(refund.getValue().getType()).isEqualTo(TransactionType.REFUND);
+        assertThat(refund.getValue().getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(refund.getValue().getAmount()).isEqualByComparingTo("250");
+        assertThat(refundRequest.isProcessed()).isTrue();
+        verifyNoInteractions(paymentResultOutboxRepository);
+        verify(paymentAccountRepository, never()).withdrawPaymentAccountIfAvailableByUserId(any(), any());
+    }
+
+    @Test
+    void processPaymentEvent_refundAlreadyApplied_isNoOp() {
+        when(paymentEventInboxRepository.findTop100UnprocessedForUpdate()).thenReturn(List.of(refundRequest));
+        when(transactionRepository.findFirstByOrderIdAndTypeAndStatus(10L, TransactionType.PAYMENT, TransactionStatus.COMPLETED))
+                .thenReturn(Optional.of(charge));
+        when(transactionRepository.existsByOrderIdAndType(10L, TransactionType.REFUND)).thenReturn(true);
+
+        paymentProcessService.processPaymentEvent();
+
+        verify(paymentAccountRepository, never()).depositPaymentAccountByUserId(any(), any());
+        verify(transactionRepository, never()).save(any());
+        assertThat(refundRequest.isProcessed()).isTrue();
+    }
+}
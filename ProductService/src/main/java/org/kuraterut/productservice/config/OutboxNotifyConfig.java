@@ -0,0 +1,31 @@
+package org.kuraterut.productservice.config;
+
+import org.kuraterut.outboxnotifylib.OutboxNotificationListener;
+import org.kuraterut.productservice.usecases.OrderCreatedEventUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "outbox.notify.enabled", havingValue = "true")
+public class OutboxNotifyConfig {
+
+    @Value("${outbox.notify.poll-timeout-ms}")
+    private int pollTimeoutMs;
+
+    @Value("${outbox.notify.reconnect-delay-ms}")
+    private long reconnectDelayMs;
+
+    @Bean
+    public OutboxNotificationListener outboxNotificationListener(DataSource dataSource,
+                                                                 OrderCreatedEventUseCase orderCreatedEventUseCase) {
+        Map<String, OutboxNotificationListener.Handler> handlers = Map.of(
+                "order_created_inbox", orderCreatedEventUseCase::processOrderCreatedEvent
+        );
+        return new OutboxNotificationListener(dataSource, handlers, pollTimeoutMs, reconnectDelayMs);
+    }
+}
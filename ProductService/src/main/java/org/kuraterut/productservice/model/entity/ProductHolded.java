@@ -16,7 +16,7 @@ import java.math.BigDecimal;
 public class ProductHolded {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_holded_seq")
-    @SequenceGenerator(name = "product_holded_seq", sequenceName = "product_holded_seq", allocationSize = 1)
+    @SequenceGenerator(name = "product_holded_seq", sequenceName = "product_holded_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
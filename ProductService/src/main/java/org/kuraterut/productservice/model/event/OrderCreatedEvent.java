@@ -14,5 +14,6 @@ public class OrderCreatedEvent {
     private Long orderId;
     private Long userId;
     private List<OrderItemDto> items;
+    private Long createdAt;
 }
 
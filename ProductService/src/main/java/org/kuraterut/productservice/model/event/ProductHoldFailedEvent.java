@@ -12,4 +12,5 @@ import java.util.List;
 public class ProductHoldFailedEvent {
     private Long orderId;
     private List<ProductHoldItemFailed> items;
+    private Long createdAt;
 }
@@ -16,7 +16,7 @@ import java.util.List;
 public class OrderCreatedInbox {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_created_inbox_seq")
-    @SequenceGenerator(name = "order_created_inbox_seq", sequenceName = "order_created_inbox_seq", allocationSize = 1)
+    @SequenceGenerator(name = "order_created_inbox_seq", sequenceName = "order_created_inbox_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -25,7 +25,8 @@ public class OrderCreatedInbox {
     private Long userId;
 
     @ElementCollection(targetClass = String.class, fetch = FetchType.EAGER)
-    @CollectionTable(name = "json_items", joinColumns = @JoinColumn(name = "order_created_inbox_id"))
+    @CollectionTable(name = "json_items", joinColumns = @JoinColumn(name = "order_created_inbox_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @Column(name = "json_items")
     private List<String> jsonItems = new ArrayList<>();
 
@@ -2,11 +2,21 @@ package org.kuraterut.productservice.repository;
 
 import org.kuraterut.productservice.model.event.inbox.OrderCreatedInbox;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderCreatedInboxRepository extends JpaRepository<OrderCreatedInbox, Long> {
-    List<OrderCreatedInbox> findTop100ByProcessedIsFalse();
+    @Query(value = "SELECT * FROM order_created_inbox WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderCreatedInbox> findTop100UnprocessedForUpdate();
+
+    @Modifying
+    @Query("UPDATE OrderCreatedInbox o SET o.processed = true WHERE o.id IN :ids")
+    int markAllAsProcessed(@Param("ids") Collection<Long> ids);
 }
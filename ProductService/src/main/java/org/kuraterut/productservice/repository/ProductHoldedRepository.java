@@ -13,10 +13,18 @@ import java.util.List;
 @Repository
 public interface ProductHoldedRepository extends JpaRepository<ProductHolded, Long> {
     List<ProductHolded> findAllByOrderId(Long orderId);
-    List<ProductHolded> findTop100ByStatus(ProductHoldedStatus status);
-    void deleteAllByStatus(ProductHoldedStatus status);
 
+    @Query(value = "SELECT * FROM product_holded WHERE status = :#{#status.name()} ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ProductHolded> findTop100ByStatusForUpdate(@Param("status") ProductHoldedStatus status);
+
+    @Modifying
+    @Query("DELETE FROM ProductHolded ph WHERE ph.status = :status")
+    int deleteAllByStatus(@Param("status") ProductHoldedStatus status);
+
+    // Only live holds move, so a redelivered remove event cannot return stock that is already sold or returned
     @Modifying
-    @Query("UPDATE ProductHolded ph SET ph.status = :status WHERE ph.orderId = :orderId")
+    @Query("UPDATE ProductHolded ph SET ph.status = :status WHERE ph.orderId = :orderId " +
+            "AND ph.status = org.kuraterut.productservice.model.utils.ProductHoldedStatus.HOLDED")
     void updateStatusByOrderId(@Param("orderId") Long orderId, @Param("status") ProductHoldedStatus status);
 }
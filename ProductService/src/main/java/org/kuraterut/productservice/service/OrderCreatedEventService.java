@@ -28,7 +28,10 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -40,6 +43,9 @@ public class OrderCreatedEventService implements OrderCreatedEventUseCase {
     private final KafkaTemplate<String, ProductHoldSuccessEvent> productHoldSuccessEventKafkaTemplate;
     private final KafkaTemplate<String, ProductHoldFailedEvent> productHoldFailedEventKafkaTemplate;
 
+    private final SagaMetrics sagaMetrics;
+    private final OutboxMetrics outboxMetrics;
+
     private final ObjectMapper mapper;
 
     @Value("${kafka-topics.product-hold-failed}")
@@ -48,37 +54,53 @@ public class OrderCreatedEventService implements OrderCreatedEventUseCase {
     @Value("${kafka-topics.product-hold-success}")
     private String productHoldSuccessTopic;
 
+    @Value("${outbox.relay.send-timeout-ms}")
+    private long sendTimeoutMs;
+
     @Override
-    @KafkaListener(topics = "${kafka-topics.order-created}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.order-created}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.order-created}",
+            containerFactory = "batchKafkaListenerContainerFactory")
     @Transactional
-    public void listenOrderCreated(String message, Acknowledgment ack) {
-        try{
-            OrderCreatedEvent event = mapper.readValue(message, OrderCreatedEvent.class);
-            OrderCreatedInbox inbox = new OrderCreatedInbox();
-            inbox.setOrderId(event.getOrderId());
-            inbox.setUserId(event.getUserId());
-            List<String> jsonItems = new ArrayList<>();
-            for (OrderItemDto item : event.getItems()) {
-                jsonItems.add(mapper.writeValueAsString(item));
+    public void listenOrderCreated(List<String> messages, Acknowledgment ack) {
+        List<OrderCreatedInbox> inboxes = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                OrderCreatedEvent event = mapper.readValue(message, OrderCreatedEvent.class);
+                sagaMetrics.recordHop("order-created", event.getCreatedAt());
+                OrderCreatedInbox inbox = new OrderCreatedInbox();
+                inbox.setOrderId(event.getOrderId());
+                inbox.setUserId(event.getUserId());
+                List<String> jsonItems = new ArrayList<>();
+                for (OrderItemDto item : event.getItems()) {
+                    jsonItems.add(mapper.writeValueAsString(item));
+                }
+                inbox.setJsonItems(jsonItems);
+                inbox.setProcessed(false);
+                inboxes.add(inbox);
+            } catch (JsonProcessingException e) {
+                log.error(e.getMessage());
             }
-            inbox.setJsonItems(jsonItems);
-            inbox.setProcessed(false);
-            orderCreatedInboxRepository.save(inbox);
-            ack.acknowledge();
-        } catch (JsonProcessingException e) {
-            log.error(e.getMessage());
         }
+        orderCreatedInboxRepository.saveAll(inboxes);
+        ack.acknowledge();
     }
 
     @Override
     @Scheduled(fixedRateString = "${scheduling.process-order-created-rate}")
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     @CacheEvict(cacheNames = "products", allEntries = true)
-    public void processOrderCreatedEvent() throws JsonProcessingException, ExecutionException, InterruptedException {
-        List<OrderCreatedInbox> inboxes = orderCreatedInboxRepository.findTop100ByProcessedIsFalse();
+    public void processOrderCreatedEvent()
+            throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException {
+        long start = System.nanoTime();
+        List<OrderCreatedInbox> inboxes = orderCreatedInboxRepository.findTop100UnprocessedForUpdate();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        List<Long> inboxIds = new ArrayList<>();
+        List<ProductHolded> holds = new ArrayList<>();
         for (OrderCreatedInbox inbox : inboxes) {
             List<String> jsonItems = inbox.getJsonItems();
             boolean flagAsFailed = false;
+            List<ProductHolded> orderHolds = new ArrayList<>();
             List<ProductHoldItemFailed> itemsFailed = new ArrayList<>();
             List<ProductHoldItemSuccess> itemSuccesses = new ArrayList<>();
             for(String jsonItem : jsonItems) {
@@ -111,7 +133,7 @@ public class OrderCreatedEventService implements OrderCreatedEventUseCase {
                     productHolded.setOrderId(inbox.getOrderId());
                     productHolded.setUnitPrice(product.getPrice());
                     productHolded.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
-                    productHoldedRepository.save(productHolded);
+                    orderHolds.add(productHolded);
 
                     ProductHoldItemSuccess productHoldItemSuccess = new ProductHoldItemSuccess();
                     productHoldItemSuccess.setProductId(orderItem.getProductId());
@@ -123,18 +145,33 @@ public class OrderCreatedEventService implements OrderCreatedEventUseCase {
             }
             if(flagAsFailed){
                 productHoldedRepository.updateStatusByOrderId(inbox.getOrderId(), ProductHoldedStatus.TO_RETURN);
+                orderHolds.forEach(productHolded -> productHolded.setStatus(ProductHoldedStatus.TO_RETURN));
                 ProductHoldFailedEvent productHoldFailedEvent = new ProductHoldFailedEvent();
                 productHoldFailedEvent.setOrderId(inbox.getOrderId());
                 productHoldFailedEvent.setItems(itemsFailed);
-                productHoldFailedEventKafkaTemplate.send(productHoldFailedTopic, productHoldFailedEvent).get();
+                productHoldFailedEvent.setCreatedAt(System.currentTimeMillis());
+                futures.add(productHoldFailedEventKafkaTemplate.send(productHoldFailedTopic,
+                        String.valueOf(inbox.getOrderId()), productHoldFailedEvent));
             } else{
                 ProductHoldSuccessEvent productHoldSuccessEvent = new ProductHoldSuccessEvent();
                 productHoldSuccessEvent.setOrderId(inbox.getOrderId());
                 productHoldSuccessEvent.setItems(itemSuccesses);
-                productHoldSuccessEventKafkaTemplate.send(productHoldSuccessTopic, productHoldSuccessEvent).get();
+                productHoldSuccessEvent.setCreatedAt(System.currentTimeMillis());
+                futures.add(productHoldSuccessEventKafkaTemplate.send(productHoldSuccessTopic,
+                        String.valueOf(inbox.getOrderId()), productHoldSuccessEvent));
             }
-            inbox.setProcessed(true);
-            orderCreatedInboxRepository.save(inbox);
+            holds.addAll(orderHolds);
+            inboxIds.add(inbox.getId());
+        }
+        if (inboxIds.isEmpty()) {
+            outboxMetrics.recordTick(OutboxMetrics.ORDER_CREATED_INBOX, 0, start);
+            return;
         }
+        productHoldedRepository.saveAll(holds);
+        productHoldFailedEventKafkaTemplate.flush();
+        productHoldSuccessEventKafkaTemplate.flush();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        orderCreatedInboxRepository.markAllAsProcessed(inboxIds);
+        outboxMetrics.recordTick(OutboxMetrics.ORDER_CREATED_INBOX, inboxIds.size(), start);
     }
 }
@@ -0,0 +1,86 @@
+package org.kuraterut.productservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxMetrics {
+    public static final String ORDER_CREATED_INBOX = "order_created_inbox";
+
+    private static final List<String> TABLES = List.of(ORDER_CREATED_INBOX);
+
+    // Both lookups walk the partial "processed = false" index; the count stops at the cap instead of scanning the backlog
+    private static final String BACKLOG_QUERY =
+            "SELECT (SELECT count(*) FROM (SELECT 1 FROM %1$s WHERE processed = false LIMIT ?) pending) AS pending, " +
+            "(SELECT created_at FROM %1$s WHERE processed = false ORDER BY id LIMIT 1) AS oldest";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> pendingRows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> oldestPendingAgeMs = new ConcurrentHashMap<>();
+
+    @Value("${outbox.metrics.pending-cap}")
+    private int pendingCap;
+
+    @Scheduled(fixedRateString = "${outbox.metrics.refresh-rate}")
+    public void refreshBacklog() {
+        for (String table : TABLES) {
+            try {
+                jdbcTemplate.query(BACKLOG_QUERY.formatted(table), rs -> {
+                    OffsetDateTime oldest = rs.getObject("oldest", OffsetDateTime.class);
+                    pendingRows(table).set(rs.getLong("pending"));
+                    oldestPendingAgeMs(table).set(oldest != null
+                            ? Math.max(System.currentTimeMillis() - oldest.toInstant().toEpochMilli(), 0) : 0);
+                }, pendingCap);
+            } catch (DataAccessException e) {
+                log.warn("Failed to refresh backlog of {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    public void recordTick(String table, int processed, long startNanos) {
+        Counter.builder("outbox.relay.processed")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(processed);
+        Timer.builder("outbox.relay.tick")
+                .tag("table", table)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicLong pendingRows(String table) {
+        return pendingRows.computeIfAbsent(table, key ->
+                meterRegistry.gauge("outbox.pending.rows", Tags.of("table", key), new AtomicLong()));
+    }
+
+    private AtomicLong oldestPendingAgeMs(String table) {
+        return oldestPendingAgeMs.computeIfAbsent(table, key -> {
+            AtomicLong age = new AtomicLong();
+            TimeGauge.builder("outbox.pending.oldest.age", age, TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .tag("table", key)
+                    .register(meterRegistry);
+            return age;
+        });
+    }
+}
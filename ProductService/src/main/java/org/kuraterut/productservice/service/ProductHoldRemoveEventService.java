@@ -18,12 +18,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductHoldRemoveEventService implements ProductHoldRemoveEventUseCase {
     private final ProductHoldedRepository productHoldedRepository;
     private final ObjectMapper objectMapper;
+    private final SagaMetrics sagaMetrics;
 
-    @KafkaListener(topics = "${kafka-topics.product-hold-remove}", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "${kafka-topics.product-hold-remove}", groupId = "${spring.kafka.consumer.group-id}",
+            concurrency = "${kafka-listener.concurrency.product-hold-remove}")
     @Transactional
     @Override
     public void listenProductHoldRemoveEvent(String message, Acknowledgment ack) throws JsonProcessingException {
         ProductHoldRemoveEvent event = objectMapper.readValue(message, ProductHoldRemoveEvent.class);
+        sagaMetrics.recordHop("product-hold-remove", event.getCreatedAt());
         if (event.getDetails() == ProductHoldRemoveEventDetails.TO_REMOVE){
             productHoldedRepository.updateStatusByOrderId(event.getOrderId(), ProductHoldedStatus.TO_REMOVE);
         } else {
@@ -27,7 +27,7 @@ public class ProductHoldRemoveService implements ProductHoldRemoveUseCase {
     @CacheEvict(cacheNames = "products", allEntries = true)
     public void processRemoveProductHolds() {
         productHoldedRepository.deleteAllByStatus(ProductHoldedStatus.TO_REMOVE);
-        List<ProductHolded> productHoldedList = productHoldedRepository.findTop100ByStatus(ProductHoldedStatus.TO_RETURN);
+        List<ProductHolded> productHoldedList = productHoldedRepository.findTop100ByStatusForUpdate(ProductHoldedStatus.TO_RETURN);
         for (ProductHolded productHolded : productHoldedList) {
             productRepository.raiseStock(productHolded.getProductId(), productHolded.getQuantity());
             productHolded.setStatus(ProductHoldedStatus.TO_REMOVE);
@@ -0,0 +1,31 @@
+package org.kuraterut.productservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class SagaMetrics {
+    public static final String HOP_LATENCY = "saga.hop.latency";
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordHop(String event, Long createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        Timer.builder(HOP_LATENCY)
+                .tag("event", event)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry)
+                .record(Math.max(System.currentTimeMillis() - createdAt, 0), TimeUnit.MILLISECONDS);
+    }
+}
@@ -3,9 +3,12 @@ package org.kuraterut.productservice.usecases;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 public interface OrderCreatedEventUseCase {
-    void listenOrderCreated(String message, Acknowledgment ack);
-    void processOrderCreatedEvent() throws JsonProcessingException, ExecutionException, InterruptedException;
+    void listenOrderCreated(List<String> messages, Acknowledgment ack);
+    void processOrderCreatedEvent()
+            throws JsonProcessingException, ExecutionException, InterruptedException, TimeoutException;
 }
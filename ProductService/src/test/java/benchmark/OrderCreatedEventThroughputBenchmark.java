@@ -0,0 +1,132 @@
+package benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.kuraterut.productservice.ProductServiceApplication;
+import org.kuraterut.productservice.dto.requests.CreateCategoryRequest;
+import org.kuraterut.productservice.dto.requests.CreateProductRequest;
+import org.kuraterut.productservice.model.event.ProductHoldFailedEvent;
+import org.kuraterut.productservice.model.event.ProductHoldSuccessEvent;
+import org.kuraterut.productservice.model.event.inbox.OrderCreatedInbox;
+import org.kuraterut.productservice.repository.OrderCreatedInboxRepository;
+import org.kuraterut.productservice.repository.ProductHoldedRepository;
+import org.kuraterut.productservice.service.CategoryService;
+import org.kuraterut.productservice.service.OrderCreatedEventService;
+import org.kuraterut.productservice.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = ProductServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(locations = "classpath:application-test.yaml")
+// Run with: mvn -Pbenchmark test -pl ProductService -am
+public class OrderCreatedEventThroughputBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(OrderCreatedEventThroughputBenchmark.class);
+    private static final int INBOXES = 100;
+    private static final int ITEMS_PER_INBOX = 2;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withStartupTimeout(Duration.ofSeconds(60));
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofSeconds(30)));
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+        registry.add("jwt.secret", () -> "test-secret-key-1234567890hasfhasfhasfhashhshasfhha");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> true);
+    }
+
+    @MockBean
+    private KafkaTemplate<String, ProductHoldSuccessEvent> productHoldSuccessEventKafkaTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, ProductHoldFailedEvent> productHoldFailedEventKafkaTemplate;
+
+    @Autowired
+    private OrderCreatedEventService orderCreatedEventService;
+
+    @Autowired
+    private OrderCreatedInboxRepository orderCreatedInboxRepository;
+
+    @Autowired
+    private ProductHoldedRepository productHoldedRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void processOrderCreatedEvent_throughputAndStatements() throws Exception {
+        String categoryName = "benchmarkCategory" + System.nanoTime();
+        categoryService.createCategory(new CreateCategoryRequest(categoryName, "benchmarkCategoryDescription"));
+        Long productId = productService.createProduct(new CreateProductRequest("benchmarkProduct",
+                "benchmarkProductDescription", BigDecimal.TEN, categoryName, 1_000_000L), 1L).getId();
+        List<OrderCreatedInbox> inboxes = new ArrayList<>();
+        for (long orderId = 1; orderId <= INBOXES; orderId++) {
+            OrderCreatedInbox inbox = new OrderCreatedInbox();
+            inbox.setOrderId(orderId);
+            inbox.setUserId(1L);
+            for (int i = 0; i < ITEMS_PER_INBOX; i++) {
+                inbox.getJsonItems().add("{\"productId\":" + productId + ",\"quantity\":1}");
+            }
+            inboxes.add(inbox);
+        }
+        orderCreatedInboxRepository.saveAll(inboxes);
+        when(productHoldSuccessEventKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        orderCreatedEventService.processOrderCreatedEvent();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("processOrderCreatedEvent: {} inboxes of {} items in {} ms ({} inboxes/s), {} statements",
+                INBOXES, ITEMS_PER_INBOX, Math.round(seconds * 1000), Math.round(INBOXES / seconds), statements);
+        assertThat(productHoldedRepository.findAllByOrderId(1L)).hasSize(ITEMS_PER_INBOX);
+    }
+}